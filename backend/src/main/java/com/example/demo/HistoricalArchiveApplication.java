@@ -4,11 +4,13 @@ package com.example.demo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 
 @SpringBootApplication
 @EnableSpringDataWebSupport
+@EnableScheduling
 
 public class HistoricalArchiveApplication {
 
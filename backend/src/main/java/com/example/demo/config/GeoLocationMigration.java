@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.util.GeoHash;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Backfills location.point (GeoJSON) and location.geohash on artifact documents
+ * written before those fields existed. New and edited artifacts get both from
+ * LocationInfo's setters, so after the first run this only matches documents
+ * imported directly into MongoDB.
+ */
+@Component
+public class GeoLocationMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoLocationMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public GeoLocationMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        // Only valid coordinates; anything else would be rejected by the 2dsphere index
+        Document filter = new Document("location.point", new Document("$exists", false))
+                .append("location.latitude", new Document("$type", "number").append("$gte", -90).append("$lte", 90))
+                .append("location.longitude", new Document("$type", "number").append("$gte", -180).append("$lte", 180));
+
+        List<Document> pipeline = List.of(new Document("$set", new Document("location.point",
+                new Document("type", "Point")
+                        .append("coordinates", List.of("$location.longitude", "$location.latitude")))));
+
+        long migrated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Artifact.class))
+                .updateMany(filter, pipeline)
+                .getModifiedCount();
+        logger.info("GeoJSON location backfill: {} artifacts updated", migrated);
+
+        backfillGeohashes();
+    }
+
+    // Geohashes can't be computed in an update pipeline, so they are encoded here and written in bulk
+    private void backfillGeohashes() {
+        Query query = Query.query(Criteria.where("location.point").exists(true).and("location.geohash").exists(false));
+        query.fields().include("location.latitude", "location.longitude");
+
+        String collection = mongoTemplate.getCollectionName(Artifact.class);
+        List<Pair<Query, UpdateDefinition>> batch = new ArrayList<>();
+        long migrated = 0;
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                Document location = document.get("location", Document.class);
+                String geohash = GeoHash.encode(
+                        location.get("latitude", Number.class).doubleValue(),
+                        location.get("longitude", Number.class).doubleValue(),
+                        GeoHash.MAX_PRECISION);
+                batch.add(Pair.of(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                        Update.update("location.geohash", geohash)));
+
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += writeBatch(collection, batch);
+                }
+            }
+        }
+        migrated += writeBatch(collection, batch);
+        logger.info("Geohash location backfill: {} artifacts updated", migrated);
+    }
+
+    private int writeBatch(String collection, List<Pair<Query, UpdateDefinition>> batch) {
+        if (batch.isEmpty()) return 0;
+        int modified = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection)
+                .updateOne(batch)
+                .execute()
+                .getModifiedCount();
+        batch.clear();
+        return modified;
+    }
+}
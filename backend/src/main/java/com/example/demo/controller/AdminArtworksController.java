@@ -1,11 +1,14 @@
 package com.example.demo.controller;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,11 +18,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.ArtifactCardDTO;
 import com.example.demo.dto.ArtifactDTO;
+import com.example.demo.dto.ArtifactRatingSummary;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.entity.ApplicationStatus;
 import com.example.demo.entity.Artifact;
 import com.example.demo.entity.UserArtifact;
 import com.example.demo.repository.ArtifactRepository;
 import com.example.demo.repository.UserArtifactRepository;
+import com.example.demo.service.ArtifactChangeService;
+import com.example.demo.service.ArtifactRatingService;
 
 @RestController
 @RequestMapping("/api/admin/artworks")
@@ -28,15 +37,23 @@ public class AdminArtworksController {
 
     private final ArtifactRepository artifactRepository;
     private final UserArtifactRepository userArtifactRepository;
+    private final ArtifactRatingService artifactRatingService;
+    private final ArtifactChangeService artifactChangeService;
 
-    public AdminArtworksController(ArtifactRepository artifactRepository, UserArtifactRepository userArtifactRepository) {
+    private static final int ALL_PAGE_SIZE = 500;
+
+    public AdminArtworksController(ArtifactRepository artifactRepository, UserArtifactRepository userArtifactRepository,
+                                   ArtifactRatingService artifactRatingService,
+                                   ArtifactChangeService artifactChangeService) {
         this.artifactRepository = artifactRepository;
         this.userArtifactRepository = userArtifactRepository;
+        this.artifactRatingService = artifactRatingService;
+        this.artifactChangeService = artifactChangeService;
     }
 
     @GetMapping
     @CrossOrigin(origins = {"http://localhost:3000"}, exposedHeaders = {"X-Total-Count"})
-    public ResponseEntity<List<ArtifactDTO>> listArtworks(
+    public ResponseEntity<List<ArtifactCardDTO>> listArtworks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String q,
@@ -45,99 +62,81 @@ public class AdminArtworksController {
         if (size <= 0) size = 10;
         if (page < 0) page = 0;
 
-        // ---- Branch 1: no search term -> keep DB paging (fast path)
-        if (q == null || q.isBlank()) {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Artifact> artifactPage;
-            
-            // If status filter is provided, we need to filter by UserArtifact status
-            if (status != null && !status.isBlank() && !"all".equalsIgnoreCase(status)) {
-                // For status filtering, we need to get all artifacts and filter
-                List<Artifact> allArtifacts = artifactRepository.findAll();
-                List<ArtifactDTO> filteredDTOs = allArtifacts.stream()
-                    .map(this::convertToDTO)
-                    .filter(dto -> {
-                        if ("not_submitted".equalsIgnoreCase(status)) {
-                            return "not_submitted".equalsIgnoreCase(dto.getStatus());
-                        }
-                        return dto.getStatus().equalsIgnoreCase(status);
-                    })
-                    .toList();
-                
-                int total = filteredDTOs.size();
-                int start = Math.min(page * size, total);
-                int end = Math.min(start + size, total);
-                List<ArtifactDTO> pageSlice = filteredDTOs.subList(start, end);
-                
-                return ResponseEntity.ok()
-                        .header("X-Total-Count", String.valueOf(total))
-                        .body(pageSlice);
-            } else {
-                // No status filter, use regular pagination
-                artifactPage = artifactRepository.findAll(pageable);
-                List<ArtifactDTO> content = artifactPage.getContent().stream()
-                        .map(this::convertToDTO)
-                        .toList();
-                
-                return ResponseEntity.ok()
-                        .header("X-Total-Count", String.valueOf(artifactPage.getTotalElements()))
-                        .body(content);
-            }
+        StatusFilter filter = statusFilter(status);
+        if (filter == null) {
+            // Unknown status: nothing matches
+            return ResponseEntity.ok().header("X-Total-Count", "0").body(List.of());
         }
 
-        // ---- Branch 2: search term present -> filter THEN paginate
-        final String qLower = q.toLowerCase();
-        List<Artifact> allArtifacts = artifactRepository.findAll();
-        
-        // Filter by search term and status
-        List<ArtifactDTO> filteredDTOs = allArtifacts.stream()
-                .map(this::convertToDTO)
-                .filter(dto -> {
-                    // Search filter
-                    boolean matchesSearch = dto.getTitle() != null && dto.getTitle().toLowerCase().contains(qLower) ||
-                                           dto.getDescription() != null && dto.getDescription().toLowerCase().contains(qLower) ||
-                                           dto.getCategory() != null && dto.getCategory().toLowerCase().contains(qLower) ||
-                                           dto.getCulture() != null && dto.getCulture().toLowerCase().contains(qLower) ||
-                                           dto.getUploaded_by() != null && dto.getUploaded_by().toLowerCase().contains(qLower);
-                    
-                    if (!matchesSearch) return false;
-                    
-                    // Status filter
-                    if (status != null && !status.isBlank() && !"all".equalsIgnoreCase(status)) {
-                        if ("not_submitted".equalsIgnoreCase(status)) {
-                            return "not_submitted".equalsIgnoreCase(dto.getStatus());
-                        }
-                        return dto.getStatus().equalsIgnoreCase(status);
-                    }
-                    
-                    return true;
-                })
-                .toList();
-
-        int total = filteredDTOs.size();
-        int start = Math.min(page * size, total);
-        int end = Math.min(start + size, total);
-        List<ArtifactDTO> pageSlice = filteredDTOs.subList(start, end);
-
+        // Search, status and paging all run in Mongo; only the page's cards are read
+        Page<Artifact> artifactPage = artifactRepository.findAllArtifacts(
+                filter.reviewStatus(), q, PageRequest.of(page, size));
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(total))
-                .body(pageSlice);
+                .header("X-Total-Count", String.valueOf(artifactPage.getTotalElements()))
+                .body(toCards(artifactPage.getContent()));
     }
     
+    // Keyset-paginated variant of listArtworks: newest first, pass nextCursor back for the following page
+    @GetMapping("/cursor")
+    public ResponseEntity<?> scrollArtworks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "none") CursorPage.Count count,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status
+    ) {
+        StatusFilter filter = statusFilter(status);
+        if (filter == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown status: " + status));
+        }
+
+        try {
+            CursorPage<Artifact> result = artifactRepository.scrollAllArtifacts(
+                    filter.reviewStatus(), q, cursor, CursorPage.clampSize(size), count);
+            return ResponseEntity.ok(result.map(this::toCards));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Bounded pages of every artwork; the status pills use /status-counts instead of counting these
     @GetMapping("/all")
-    public ResponseEntity<List<ArtifactDTO>> listAllArtworks() {
-        List<Artifact> allArtifacts = artifactRepository.findAll();
-        List<ArtifactDTO> dtoList = allArtifacts.stream()
-            .map(this::convertToDTO)
-            .toList();
-        return ResponseEntity.ok(dtoList);
+    @CrossOrigin(origins = {"http://localhost:3000"}, exposedHeaders = {"X-Total-Count"})
+    public ResponseEntity<List<ArtifactCardDTO>> listAllArtworks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size
+    ) {
+        Page<Artifact> artifactPage = artifactRepository.findAllArtifacts(null, null,
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, ALL_PAGE_SIZE))));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(artifactPage.getTotalElements()))
+                .body(toCards(artifactPage.getContent()));
+    }
+
+    /** Artworks per review status (of the latest submission), from one grouped query. */
+    @GetMapping("/status-counts")
+    public ResponseEntity<Map<String, Long>> statusCounts() {
+        long total = artifactRepository.count();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        long submitted = 0;
+        for (Object[] row : userArtifactRepository.countArtifactsByLatestStatus()) {
+            long count = ((Number) row[1]).longValue();
+            counts.put(((ApplicationStatus) row[0]).name(), count);
+            submitted += count;
+        }
+        counts.put("not_submitted", Math.max(total - submitted, 0));
+        counts.put("total", total);
+        return ResponseEntity.ok(counts);
     }
 
 
     @GetMapping("/{id}")
     public ResponseEntity<ArtifactDTO> getArtwork(@PathVariable("id") String id) {
         Optional<Artifact> artifact = artifactRepository.findById(id);
-        return artifact.map(a -> ResponseEntity.ok(convertToDTO(a)))
+        return artifact.map(a -> ResponseEntity.ok(withRatings(List.of(convertToDTO(a))).get(0)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -147,6 +146,7 @@ public class AdminArtworksController {
             return ResponseEntity.notFound().build();
         }
         artifactRepository.deleteById(id);
+        artifactChangeService.artifactDeleted(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -173,10 +173,63 @@ public class AdminArtworksController {
         String status = getArtifactStatus(artifact.getId());
         dto.setStatus(status);
         
+        // Filled in for the returned page by withRatings
         dto.setAverageRating(0);
         dto.setTotalRatings(0);
         return dto;
     }
+
+    // The reviewStatus to filter on (that of the latest submission, stored on the document);
+    // a null field means no restriction, a null result an unknown status
+    private record StatusFilter(String reviewStatus) {}
+
+    private static StatusFilter statusFilter(String status) {
+        if (status == null || status.isBlank() || "all".equalsIgnoreCase(status)) {
+            return new StatusFilter(null);
+        }
+        if (ArtifactRepository.NOT_SUBMITTED.equalsIgnoreCase(status)) {
+            return new StatusFilter(ArtifactRepository.NOT_SUBMITTED);
+        }
+        return Arrays.stream(ApplicationStatus.values())
+                .filter(s -> s.name().equalsIgnoreCase(status))
+                .findFirst()
+                .map(s -> new StatusFilter(s.name()))
+                .orElse(null);
+    }
+
+    // Cards with ratings and review statuses, each from one grouped query for the whole page
+    private List<ArtifactCardDTO> toCards(List<Artifact> artifacts) {
+        List<String> ids = artifacts.stream().map(Artifact::getId).toList();
+        Map<String, ArtifactRatingSummary> ratings = artifactRatingService.getSummaries(ids);
+        Map<String, String> statuses = latestStatuses(ids);
+        return artifacts.stream()
+                .map(artifact -> ArtifactCardDTO.of(artifact, ratings.get(artifact.getId()))
+                        .withStatus(statuses.getOrDefault(artifact.getId(), "not_submitted")))
+                .toList();
+    }
+
+    // Artifact ID -> status of its latest submission; artifacts never submitted are absent
+    private Map<String, String> latestStatuses(List<String> artifactIds) {
+        Map<String, String> statuses = new HashMap<>();
+        if (artifactIds.isEmpty()) return statuses;
+        for (Object[] row : userArtifactRepository.findLatestStatusesByArtifactIdIn(artifactIds)) {
+            statuses.put((String) row[0], ((ApplicationStatus) row[1]).name());
+        }
+        return statuses;
+    }
+
+    // One grouped rating query for everything being returned
+    private List<ArtifactDTO> withRatings(List<ArtifactDTO> dtos) {
+        Map<String, ArtifactRatingSummary> ratings = artifactRatingService.getSummaries(
+                dtos.stream().map(ArtifactDTO::get_id).toList());
+        for (ArtifactDTO dto : dtos) {
+            ArtifactRatingSummary rating = ratings.get(dto.get_id());
+            if (rating == null) continue;
+            dto.setAverageRating(rating.averageRating());
+            dto.setTotalRatings(rating.totalRatings().intValue());
+        }
+        return dtos;
+    }
     
     private String getArtifactStatus(String artifactId) {
         // Find the most recent UserArtifact submission for this artifact
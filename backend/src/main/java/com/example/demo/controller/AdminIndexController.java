@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.IndexReport;
+import com.example.demo.service.ArtifactIndexService;
+
+@RestController
+@RequestMapping("/api/admin/indexes")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class AdminIndexController {
+
+    private final ArtifactIndexService artifactIndexService;
+
+    public AdminIndexController(ArtifactIndexService artifactIndexService) {
+        this.artifactIndexService = artifactIndexService;
+    }
+
+    // Existing artifact indexes with their usage since the last server restart, plus missing/mismatched/unused/undeclared ones
+    @GetMapping("/artifacts")
+    public IndexReport artifactIndexes() {
+        return artifactIndexService.report();
+    }
+
+    // Creates the declared artifact indexes that are missing
+    @PostMapping("/artifacts/ensure")
+    public ResponseEntity<Map<String, Object>> ensureArtifactIndexes() {
+        List<String> created = artifactIndexService.ensureIndexes();
+        return ResponseEntity.ok(Map.of("created", created, "report", artifactIndexService.report()));
+    }
+}
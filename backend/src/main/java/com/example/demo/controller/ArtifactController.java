@@ -14,6 +14,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,8 +28,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import com.example.demo.dto.ArtifactDTO;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.demo.dto.ArtifactClusterDTO;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FacetedSearchResult;
+import com.example.demo.dto.MatchMode;
+import com.example.demo.dto.ArtifactCardDTO;
+import com.example.demo.dto.ArtifactRatingSummary;
 import com.example.demo.entity.ApplicationStatus;
 import com.example.demo.entity.Artifact;
 import com.example.demo.entity.User;
@@ -36,8 +47,16 @@ import com.example.demo.repository.BookmarkRepository;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.repository.RatingRepository;
 import com.example.demo.repository.UserArtifactRepository;
+import com.example.demo.service.ArtifactExportService;
+import com.example.demo.service.ArtifactRatingService;
 import com.example.demo.service.ArtifactService;
-import com.example.demo.service.ArtifactServiceImpl;
+import com.example.demo.service.ArtifactAutocompleteService;
+import com.example.demo.service.ArtifactChangeService;
+import com.example.demo.service.ArtifactSuggestionService;
+import com.example.demo.service.ArtifactVisibilityService;
+import com.example.demo.service.CommentReactionService;
+import com.example.demo.service.LeaderboardService;
+import com.example.demo.util.CompletionTrie;
 
 import jakarta.servlet.http.HttpSession;
 
@@ -50,9 +69,6 @@ public class ArtifactController {
 
     private final ArtifactRepository artifactRepository;
     
-    @Autowired
-    private ArtifactServiceImpl artifactServiceImpl;
-    
     @Autowired
     private ArtifactService artifactService;
     
@@ -64,9 +80,33 @@ public class ArtifactController {
     
     @Autowired 
     private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReactionService commentReactionService;
     
     @Autowired 
     private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private ArtifactVisibilityService artifactVisibilityService;
+
+    @Autowired
+    private ArtifactSuggestionService artifactSuggestionService;
+
+    @Autowired
+    private ArtifactAutocompleteService artifactAutocompleteService;
+
+    @Autowired
+    private ArtifactChangeService artifactChangeService;
+
+    @Autowired
+    private ArtifactRatingService artifactRatingService;
+
+    @Autowired
+    private ArtifactExportService artifactExportService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
     
     @Autowired
     public ArtifactController(ArtifactRepository artifactRepository) {
@@ -74,7 +114,7 @@ public class ArtifactController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Artifact>> searchArtifacts(
+    public ResponseEntity<Page<ArtifactCardDTO>> searchArtifacts(
             @RequestParam(required = false) String anyField,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String category,
@@ -86,18 +126,22 @@ public class ArtifactController {
             @RequestParam(required = false) String tags,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
             @RequestParam(required = false) String locationQuery,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
             @RequestParam(required = false) Double radius,
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String country,
+            @RequestParam(required = false) String match,
             @RequestParam(required = false) String sortBy,
             Pageable pageable) {
 
         Page<Artifact> results = artifactService.searchArtifacts(
             anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
-            locationQuery, latitude, longitude, radius, city, country, sortBy, pageable
+            yearFrom, yearTo,
+            locationQuery, latitude, longitude, radius, city, country, matchModes(match), sortBy, pageable
         );
         System.out.println("🔎 Search Results:");
         System.out.println("  Total Elements: " + results.getTotalElements());
@@ -105,12 +149,12 @@ public class ArtifactController {
             System.out.println("  - ID: " + artifact.getId() + " | Title: " + artifact.getTitle());
         }
 
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(toCardPage(results));
      
     }
     
     @GetMapping
-    public Page<ArtifactDTO> globalSearchArtifacts(
+    public Page<ArtifactCardDTO> globalSearchArtifacts(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
@@ -126,12 +170,15 @@ public class ArtifactController {
             @RequestParam(required = false) String tags,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
             @RequestParam(required = false) String locationQuery,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
             @RequestParam(required = false) Double radius,
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String country,
+            @RequestParam(required = false) String match,
             @RequestParam(required = false) String sortBy
     ) {
     	System.out.println("🔎 Global search with query: " + search);
@@ -144,7 +191,8 @@ public class ArtifactController {
         Page<Artifact> artifactPage = artifactService.searchArtifacts(
             anyField != null ? anyField : search, // Use anyField if provided, otherwise use search
             title, category, culture, department, period, medium, artistName, tags, 
-            fromDate, toDate, locationQuery, latitude, longitude, radius, city, country, sortBy, pageable
+            fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius, city, country,
+            matchModes(match), sortBy, pageable
         );
         
         System.out.println("Total results: " + artifactPage.getTotalElements());
@@ -153,7 +201,149 @@ public class ArtifactController {
         }
 
         
-        return artifactPage.map(this::convertToDTO);
+        return toCardPage(artifactPage);
+    }
+
+    // Keyset-paginated variant of the listing above: pass nextCursor back for the following
+    // page; count=exact|estimated adds a total to the first page
+    @GetMapping("/cursor")
+    public ResponseEntity<?> scrollArtifacts(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(defaultValue = "none") CursorPage.Count count,
+            @RequestParam(required = false) String anyField,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String culture,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) String medium,
+            @RequestParam(required = false) String artistName,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String locationQuery,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String sortBy
+    ) {
+        try {
+            CursorPage<Artifact> result = artifactService.scrollArtifacts(
+                anyField != null ? anyField : search,
+                title, category, culture, department, period, medium, artistName, tags,
+                fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius, city, country,
+                MatchMode.parse(match), sortBy, cursor, CursorPage.clampSize(size), count
+            );
+            return ResponseEntity.ok(result.map(this::toCards));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Search page plus filter sidebar counts in one call (replaces the four /suggestions/* requests)
+    @GetMapping("/search/faceted")
+    public FacetedSearchResult<ArtifactCardDTO> facetedSearchArtifacts(
+            @RequestParam(required = false) String anyField,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String culture,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) String medium,
+            @RequestParam(required = false) String artistName,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String locationQuery,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) Integer facetSize
+    ) {
+        FacetedSearchResult<Artifact> result = artifactService.facetedSearch(
+            anyField, title, category, culture, department, period, medium, artistName, tags,
+            fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius, city, country,
+            matchModes(match), sortBy, PageRequest.of(page, size), facetSize
+        );
+        return result.map(this::toCardPage);
+    }
+
+    // Every match of a search, streamed from one Mongo cursor as NDJSON (default) or CSV
+    @GetMapping("/export")
+    public ResponseEntity<ResponseBodyEmitter> exportArtifacts(
+            @RequestParam(required = false) String anyField,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String culture,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) String medium,
+            @RequestParam(required = false) String artistName,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String locationQuery,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ndjson") ArtifactExportService.Format format
+    ) {
+        Map<String, MatchMode> matchModes = matchModes(match);
+        // The cursor is opened on the thread that writes the response, and closed with it
+        ResponseBodyEmitter body = artifactExportService.export(() -> artifactService.streamArtifacts(
+                anyField, title, category, culture, department, period, medium, artistName, tags,
+                fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius, city, country,
+                matchModes, sortBy), format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"artifacts." + format.name() + "\"")
+                .body(body);
+    }
+
+    // "match" lists per-field match modes, e.g. category:exact,title:prefix (see MatchMode)
+    private static Map<String, MatchMode> matchModes(String match) {
+        try {
+            return MatchMode.parse(match);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Map view: clusters of visible artifacts inside the bounding box, sized for the zoom level
+    @GetMapping("/map/clusters")
+    public ResponseEntity<?> getMapClusters(
+            @RequestParam double west,
+            @RequestParam double south,
+            @RequestParam double east,
+            @RequestParam double north,
+            @RequestParam(defaultValue = "3") int zoom) {
+        if (Math.abs(west) > 180 || Math.abs(east) > 180 || Math.abs(south) > 90 || Math.abs(north) > 90 || south > north) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid bounding box"));
+        }
+
+        List<ArtifactClusterDTO> clusters = artifactRepository.findClusters(west, south, east, north, Math.max(0, zoom));
+        return ResponseEntity.ok(clusters);
     }
 
 
@@ -201,88 +391,85 @@ public class ArtifactController {
 
     
     
- // Updated suggestion endpoints to use service methods
-    @GetMapping("/suggestions/categories")
-    public ResponseEntity<List<String>> getCategorySuggestions() {
-        try {
-            List<String> categories = artifactServiceImpl.getDistinctCategories();
-            return ResponseEntity.ok(categories);
-        } catch (Exception e) {
-            System.err.println("Error fetching category suggestions: " + e.getMessage());
-            return ResponseEntity.ok(List.of()); // Return empty list on error
+    // Search box typeahead: most popular titles, artists, tags and places starting with the prefix
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<CompletionTrie.Completion>> autocomplete(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
         }
+        return ResponseEntity.ok(artifactAutocompleteService.complete(prefix, Math.max(1, Math.min(limit, 20))));
+    }
+
+    // Dropdown suggestions are served from ArtifactSuggestionService's cached lists;
+    // If-None-Match / If-Modified-Since revalidations are answered with 304
+    @GetMapping("/suggestions")
+    public ResponseEntity<Map<String, List<String>>> getAllSuggestions(WebRequest request) {
+        ArtifactSuggestionService.Suggestions suggestions = artifactSuggestionService.get();
+        return conditional(request, suggestions, Map.of(
+                "categories", suggestions.categories(),
+                "cultures", suggestions.cultures(),
+                "departments", suggestions.departments(),
+                "periods", suggestions.periods()));
+    }
+
+    @GetMapping("/suggestions/categories")
+    public ResponseEntity<List<String>> getCategorySuggestions(WebRequest request) {
+        ArtifactSuggestionService.Suggestions suggestions = artifactSuggestionService.get();
+        return conditional(request, suggestions, suggestions.categories());
     }
 
     @GetMapping("/suggestions/periods")
-    public ResponseEntity<List<String>> getPeriodSuggestions() {
-        try {
-            List<String> periods = artifactServiceImpl.getDistinctPeriods();
-            return ResponseEntity.ok(periods);
-        } catch (Exception e) {
-            System.err.println("Error fetching period suggestions: " + e.getMessage());
-            return ResponseEntity.ok(List.of()); // Return empty list on error
-        }
+    public ResponseEntity<List<String>> getPeriodSuggestions(WebRequest request) {
+        ArtifactSuggestionService.Suggestions suggestions = artifactSuggestionService.get();
+        return conditional(request, suggestions, suggestions.periods());
     }
 
     @GetMapping("/suggestions/cultures")
-    public ResponseEntity<List<String>> getCultureSuggestions() {
-        try {
-            List<String> cultures = artifactServiceImpl.getDistinctCultures();
-            return ResponseEntity.ok(cultures);
-        } catch (Exception e) {
-            System.err.println("Error fetching culture suggestions: " + e.getMessage());
-            return ResponseEntity.ok(List.of()); // Return empty list on error
-        }
+    public ResponseEntity<List<String>> getCultureSuggestions(WebRequest request) {
+        ArtifactSuggestionService.Suggestions suggestions = artifactSuggestionService.get();
+        return conditional(request, suggestions, suggestions.cultures());
     }
 
     @GetMapping("/suggestions/departments")
-    public ResponseEntity<List<String>> getDepartmentSuggestions() {
-        try {
-            List<String> departments = artifactServiceImpl.getDistinctDepartments();
-            return ResponseEntity.ok(departments);
-        } catch (Exception e) {
-            System.err.println("Error fetching department suggestions: " + e.getMessage());
-            return ResponseEntity.ok(List.of()); // Return empty list on error
+    public ResponseEntity<List<String>> getDepartmentSuggestions(WebRequest request) {
+        ArtifactSuggestionService.Suggestions suggestions = artifactSuggestionService.get();
+        return conditional(request, suggestions, suggestions.departments());
+    }
+
+    private static <T> ResponseEntity<T> conditional(WebRequest request, ArtifactSuggestionService.Suggestions suggestions, T body) {
+        if (request.checkNotModified(suggestions.etag(), suggestions.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(suggestions.etag())
+                    .build();
         }
+        return ResponseEntity.ok()
+                .eTag(suggestions.etag())
+                .lastModified(suggestions.lastModified())
+                // Browsers must revalidate, which costs a 304 when nothing changed
+                .cacheControl(CacheControl.noCache())
+                .body(body);
     }
 
-    private ArtifactDTO convertToDTO(Artifact artifact) {
-    	
-    	
-    	
-        ArtifactDTO dto = new ArtifactDTO();
-        dto.set_Id(artifact.getId()); // Custom h_/a_ ID
-        dto.setTitle(artifact.getTitle());
-        dto.setDescription(artifact.getDescription());
-        dto.setCategory(artifact.getCategory());
-        dto.setCulture(artifact.getCulture());
-        dto.setDepartment(artifact.getDepartment());
-        dto.setPeriod(artifact.getPeriod());
-        dto.setMedium(artifact.getMedium());
-        dto.setDimension(artifact.getDimension());
-        dto.setTags(artifact.getTags());
-        dto.setLocation(artifact.getLocation());
-        dto.setUploaded_by(artifact.getUploaded_by());
-        dto.setUploaded_at(artifact.getUploaded_at());
-        dto.setUpdated_at(artifact.getUpdated_at());
-        dto.setImages(artifact.getImages());
-        dto.setImage_url(artifact.getImage_url());
-        Double avg = ratingRepository.findAverageRatingByArtifactId(artifact.getId());
-        Long count = ratingRepository.countByArtifactId(artifact.getId());
-        // Default ratings
-        dto.setAverageRating(avg != null ? avg : 0.0);
-        dto.setTotalRatings(count != null ? count.intValue() : 0);
-        
-        return dto;
-        
-        
+    // Ratings for the whole page come from one grouped query
+    private Page<ArtifactCardDTO> toCardPage(Page<Artifact> artifactPage) {
+        Map<String, ArtifactRatingSummary> ratings = artifactRatingService.getSummaries(
+                artifactPage.getContent().stream().map(Artifact::getId).toList());
+        return artifactPage.map(artifact -> ArtifactCardDTO.of(artifact, ratings.get(artifact.getId())));
+    }
+
+    private List<ArtifactCardDTO> toCards(List<Artifact> artifacts) {
+        Map<String, ArtifactRatingSummary> ratings = artifactRatingService.getSummaries(
+                artifacts.stream().map(Artifact::getId).toList());
+        return artifacts.stream().map(artifact -> ArtifactCardDTO.of(artifact, ratings.get(artifact.getId()))).toList();
     }
     
     // Curator View Artwork
 
 
     @GetMapping("/my-artworks")
-    public ResponseEntity<Page<ArtifactDTO>> getMyArtworks(
+    public ResponseEntity<Page<ArtifactCardDTO>> getMyArtworks(
             HttpSession session,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
@@ -303,7 +490,7 @@ public class ArtifactController {
 
         // Step 2: Fetch relevant artifacts
         List<String> artifactIds = userArtifacts.stream().map(UserArtifact::getArtifactId).toList();
-        List<Artifact> artifacts = artifactRepository.findAllById(artifactIds);
+        List<Artifact> artifacts = artifactRepository.findCardsByIds(artifactIds);
         Map<String, UserArtifact> uaMap = userArtifacts.stream()
                 .collect(Collectors.toMap(UserArtifact::getArtifactId, ua -> ua));
 
@@ -315,16 +502,11 @@ public class ArtifactController {
 
         
         // Step 3: Optional search filter
-        List<ArtifactDTO> allDto = artifacts.stream()
+        List<Artifact> matching = artifacts.stream()
         	    .filter(artifact -> {
         	        if (search == null || search.trim().isEmpty()) return true;
         	        return artifact.getTitle().toLowerCase().contains(search.toLowerCase());
         	    })
-        	    .map(artifact -> {
-        	        ArtifactDTO dto = convertToDTO(artifact);
-        	        dto.setStatus(uaMap.get(artifact.getId()).getStatus().name());
-        	        return dto;
-        	    })
         	    .sorted((a1, a2) -> {
         	        Instant t1 = Optional.ofNullable(a1.getUpdated_at()).orElse(a1.getUploaded_at());
         	        Instant t2 = Optional.ofNullable(a2.getUpdated_at()).orElse(a2.getUploaded_at());
@@ -333,16 +515,45 @@ public class ArtifactController {
         	    .toList();
 
 
-        // Step 4: Manual pagination
+        // Step 4: Manual pagination; only the page is converted and rated
         int start = page * size;
-        int end = Math.min(start + size, allDto.size());
-        List<ArtifactDTO> pageContent = start >= allDto.size() ? List.of() : allDto.subList(start, end);
-        Page<ArtifactDTO> resultPage = new PageImpl<>(pageContent, PageRequest.of(page, size), allDto.size());
+        int end = Math.min(start + size, matching.size());
+        List<Artifact> pageArtifacts = start >= matching.size() ? List.of() : matching.subList(start, end);
+        Page<ArtifactCardDTO> resultPage = toCardPage(new PageImpl<>(pageArtifacts, PageRequest.of(page, size), matching.size()))
+                .map(card -> card.withStatus(uaMap.get(card.id()).getStatus().name()));
 
         return ResponseEntity.ok(resultPage);
     }
 
     
+    // Keyset-paginated my-artworks: Mongo reads only the page after the cursor, most recently updated first
+    @GetMapping("/my-artworks/cursor")
+    public ResponseEntity<?> scrollMyArtworks(
+            HttpSession session,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(defaultValue = "none") CursorPage.Count count,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String status // "accepted", "rejected", "pending"
+    ) {
+        User user = (User) session.getAttribute("loggedInUser");
+        if (user == null) return ResponseEntity.status(401).build();
+
+        Map<String, UserArtifact> uaMap = userArtifactRepository.findByUserId(user.getUserId()).stream()
+                .filter(ua -> status == null || status.equalsIgnoreCase("all") || ua.getStatus().name().equalsIgnoreCase(status))
+                .collect(Collectors.toMap(UserArtifact::getArtifactId, ua -> ua, (first, second) -> first));
+
+        try {
+            CursorPage<Artifact> result = artifactRepository.scrollArtifactsByIds(
+                    uaMap.keySet(), search, cursor, CursorPage.clampSize(size), count);
+            return ResponseEntity.ok(result.map(artifacts -> toCards(artifacts).stream()
+                    .map(card -> card.withStatus(uaMap.get(card.id()).getStatus().name()))
+                    .toList()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/my-artworks/stats")
     public ResponseEntity<Map<String, Long>> getCuratorArtworkStats(HttpSession session) {
         User user = (User) session.getAttribute("loggedInUser");
@@ -397,6 +608,7 @@ public class ArtifactController {
             existingArtifact.setUpdated_at(Instant.now());  // Update timestamp
             
             Artifact savedArtifact = artifactRepository.save(existingArtifact);
+            artifactChangeService.artifactChanged(savedArtifact);
             System.out.println("✅ Artifact " + id + " updated successfully.");
             return ResponseEntity.ok(savedArtifact); 
         } else {
@@ -433,13 +645,16 @@ public class ArtifactController {
             .map(UserArtifact::getUserArtifactId)
             .toList();
 
-        // ✅ STEP 2: Delete comments
+        // ✅ STEP 2: Delete comment reactions, then the comments
+        System.out.println("🧹 Deleting comment reactions...");
+        commentReactionService.deleteForUserArtifacts(userArtifactIds);
         System.out.println("🧹 Deleting comments...");
         commentRepository.deleteByUserArtifactIds(userArtifactIds);
 
         // ✅ STEP 3: Delete ratings
         System.out.println("🧹 Deleting ratings...");
         ratingRepository.deleteByUserArtifactIds(userArtifactIds);
+        artifactRatingService.deleteSummary(id);
 
         // ✅ STEP 4: Delete bookmarks
         System.out.println("🧹 Deleting bookmarks...");
@@ -448,47 +663,36 @@ public class ArtifactController {
         // ✅ STEP 5: Delete user_artifact entries
         System.out.println("🧹 Deleting user_artifact entries...");
         userArtifactRepository.deleteByArtifactId(id);
+        artifactVisibilityService.refresh(id);
 
         // ✅ STEP 6: Delete the artifact itself
         artifactRepository.deleteById(id);
+        artifactChangeService.artifactDeleted(id);
         System.out.println("✅ Artifact " + id + " and all related records deleted.");
 
-     // ✅ STEP 2: Delete comment reactions
-        System.out.println("🧹 Deleting comment reactions...");
-        commentRepository.deleteReactionsByUserArtifactIds(userArtifactIds);
-
-        
         return ResponseEntity.noContent().build(); // 204 No Content
     }
 
 
     @GetMapping("/top-rated")
-    public ResponseEntity<List<ArtifactDTO>> getTopRatedArtifacts() {
+    public ResponseEntity<List<ArtifactCardDTO>> getTopRatedArtifacts(
+            @RequestParam(defaultValue = "3") int limit,
+            @RequestParam(required = false) String category) {
         try {
-            // 1. Get top 3 rated artifact IDs and their average ratings from the PostgreSQL database
-            List<Object[]> topRatedData = ratingRepository.findTopRatedArtifacts();
-    
-            // 2. Extract artifact IDs
-            List<String> topRatedArtifactIds = topRatedData.stream()
-                    .map(result -> (String) result[0])
-                    .collect(Collectors.toList());
-    
-            // 3. Fetch full artifact details from MongoDB using the IDs
-            List<Artifact> topRatedArtifacts = artifactRepository.findByIdsIn(topRatedArtifactIds);
-    
-            // 4. Combine data and convert to DTOs
-            List<ArtifactDTO> topRatedDTOs = topRatedArtifacts.stream()
-                    .map(artifact -> {
-                        ArtifactDTO dto = convertToDTO(artifact);
-                        // Find the corresponding average rating from the PostgreSQL results
-                        Optional<Object[]> ratingEntry = topRatedData.stream()
-                                .filter(entry -> ((String) entry[0]).equals(artifact.getId()))
-                                .findFirst();
-                        if (ratingEntry.isPresent()) {
-                            dto.setAverageRating((Double) ratingEntry.get()[1]);
-                        }
-                        return dto;
-                    })
+            // 1. Ranked entries straight from the in-memory leaderboard (Bayesian average)
+            List<LeaderboardService.Entry> entries = leaderboardService.top(
+                    Math.min(Math.max(limit, 1), leaderboardService.getSize()), category);
+            List<String> topRatedArtifactIds = entries.stream().map(LeaderboardService.Entry::artifactId).toList();
+
+            // 2. Fetch only those artifacts from MongoDB
+            Map<String, Artifact> artifactsById = artifactRepository.findCardsByIds(topRatedArtifactIds).stream()
+                    .collect(Collectors.toMap(Artifact::getId, artifact -> artifact));
+
+            // 3. Convert to cards in leaderboard order with the ratings it already holds
+            List<ArtifactCardDTO> topRatedDTOs = entries.stream()
+                    .filter(entry -> artifactsById.containsKey(entry.artifactId()))
+                    .map(entry -> ArtifactCardDTO.of(artifactsById.get(entry.artifactId()),
+                            new ArtifactRatingSummary(entry.artifactId(), entry.averageRating(), entry.totalRatings())))
                     .collect(Collectors.toList());
     
             return ResponseEntity.ok(topRatedDTOs);
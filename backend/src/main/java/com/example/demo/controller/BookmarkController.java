@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ArtifactRatingSummary;
 import com.example.demo.dto.BookmarkDTO;
 import com.example.demo.entity.Bookmark;
 import com.example.demo.entity.User;
@@ -7,6 +8,7 @@ import com.example.demo.entity.UserArtifact;
 import com.example.demo.repository.BookmarkRepository;
 import com.example.demo.repository.UserArtifactRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ArtifactRatingService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.transaction.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,6 +36,9 @@ public class BookmarkController {
     @Autowired
     private UserArtifactRepository userArtifactRepository;
 
+    @Autowired
+    private ArtifactRatingService artifactRatingService;
+
     @GetMapping
     public ResponseEntity<List<BookmarkDTO>> getUserBookmarks(HttpSession session) {
         User user = (User) session.getAttribute("loggedInUser");
@@ -41,12 +47,19 @@ public class BookmarkController {
         }
         
         List<Bookmark> bookmarks = bookmarkRepository.findByUserUserId(user.getUserId());
+        // Ratings for every bookmarked artifact in one grouped query
+        Map<String, ArtifactRatingSummary> ratings = artifactRatingService.getSummaries(
+                bookmarks.stream().map(bookmark -> bookmark.getUserArtifact().getArtifactId()).toList());
+
         List<BookmarkDTO> bookmarkDTOs = bookmarks.stream().map(bookmark -> {
             BookmarkDTO dto = new BookmarkDTO();
             dto.setBookmarkId(bookmark.getBookmarkId());
             dto.setArtifactId(bookmark.getUserArtifact().getArtifactId());
             dto.setUserId(bookmark.getUser().getUserId());
             dto.setCreatedAt(bookmark.getCreatedAt());
+            ArtifactRatingSummary rating = ratings.get(dto.getArtifactId());
+            dto.setAverageRating(rating.averageRating());
+            dto.setTotalRatings(rating.totalRatings().intValue());
             return dto;
         }).collect(Collectors.toList());
         
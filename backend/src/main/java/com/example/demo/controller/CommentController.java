@@ -1,6 +1,7 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.CommentRequest;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.ReactionRequest;
 import com.example.demo.entity.Artifact;
 import com.example.demo.entity.Comment;
@@ -9,19 +10,26 @@ import com.example.demo.entity.UserArtifact;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.repository.UserArtifactRepository;
 import com.example.demo.repository.ArtifactRepository;
+import com.example.demo.service.CommentReactionService;
+import com.example.demo.util.PageCursor;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
@@ -40,6 +48,12 @@ public class CommentController {
     @Autowired
     private ArtifactRepository artifactRepository;
 
+    @Autowired
+    private CommentReactionService commentReactionService;
+
+
+    // Replies loaded under each top-level comment of a thread page, at most
+    private static final int MAX_INLINE_REPLIES = 20;
 
     @GetMapping("/artifact/{artifactId}")
     public ResponseEntity<?> getCommentsByArtifact(
@@ -48,10 +62,24 @@ public class CommentController {
         try {
             User user = (User) session.getAttribute("loggedInUser");
 
-            List<Comment> topLevelComments = commentRepository.findByUserArtifact_ArtifactIdOrderByCreatedAtDesc(artifactId);
+            // One query for the whole tree; it is nested in memory
+            List<Comment> comments = commentRepository.findAllByArtifactIdWithUser(artifactId);
+            Set<Integer> reacted = reactedCommentIds(comments, user);
+
+            Map<Integer, List<Comment>> repliesByParent = new HashMap<>();
+            List<Comment> topLevelComments = new ArrayList<>();
+            for (Comment comment : comments) {
+                if (comment.getParent() == null) {
+                    topLevelComments.add(comment);
+                } else {
+                    repliesByParent.computeIfAbsent(comment.getParent().getCommentId(), id -> new ArrayList<>()).add(comment);
+                }
+            }
+            // Top-level comments newest first, replies oldest first
+            Collections.reverse(topLevelComments);
 
             List<Map<String, Object>> commentsWithReplies = topLevelComments.stream()
-                    .map(comment -> createCommentMapRecursive(comment, user)) // 👈 recursive
+                    .map(comment -> createCommentMapRecursive(comment, repliesByParent, reacted))
                     .collect(Collectors.toList());
 
             return ResponseEntity.ok(commentsWithReplies);
@@ -62,20 +90,163 @@ public class CommentController {
         }
     }
 
-    private Map<String, Object> createCommentMapRecursive(Comment comment, User currentUser) {
-        Map<String, Object> map = createCommentMap(comment, currentUser);
+    private Map<String, Object> createCommentMapRecursive(Comment comment, Map<Integer, List<Comment>> repliesByParent,
+                                                          Set<Integer> reacted) {
+        Map<String, Object> map = createCommentMap(comment, reacted.contains(comment.getCommentId()));
 
-        List<Comment> replies = commentRepository.findRepliesByParentId(comment.getCommentId());
-        List<Map<String, Object>> replyDTOs = replies.stream()
-                .map(reply -> createCommentMapRecursive(reply, currentUser)) // 👈 recursion
+        List<Map<String, Object>> replyDTOs = repliesByParent.getOrDefault(comment.getCommentId(), List.of()).stream()
+                .map(reply -> createCommentMapRecursive(reply, repliesByParent, reacted))
                 .collect(Collectors.toList());
 
         map.put("replies", replyDTOs);
         return map;
     }
 
+    /**
+     * A page of top-level comments of an artifact, newest first, each with its first
+     * {@code replies} replies. Every comment carries its {@code replyCount}; when not
+     * all of its replies are included, {@code hasMoreReplies} is set and the rest come
+     * from {@code /{commentId}/replies} starting at {@code repliesCursor} (null: from
+     * the first reply). The page costs a fixed number of queries, whatever its size.
+     */
+    @GetMapping("/artifact/{artifactId}/threads")
+    public ResponseEntity<?> getCommentThreads(
+            @PathVariable String artifactId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int replies,
+            HttpSession session) {
+        ScrollPosition position;
+        try {
+            position = cursor == null ? ScrollPosition.keyset() : commentPosition(PageCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+        try {
+            User user = (User) session.getAttribute("loggedInUser");
+
+            Window<Comment> window = commentRepository.findByUserArtifactArtifactIdAndParentIsNullOrderByCreatedAtDescCommentIdDesc(
+                    artifactId, position, Limit.of(CursorPage.clampSize(size)));
+            List<Comment> topLevelComments = window.getContent();
+
+            int perParent = Math.max(0, Math.min(replies, MAX_INLINE_REPLIES));
+            List<Comment> firstReplies = List.of();
+            if (perParent > 0 && !topLevelComments.isEmpty()) {
+                List<Integer> replyIds = commentRepository.findFirstReplyIds(
+                        topLevelComments.stream().map(Comment::getCommentId).toList(), perParent);
+                if (!replyIds.isEmpty()) {
+                    firstReplies = commentRepository.findWithUserByCommentIdIn(replyIds);
+                }
+            }
+
+            return ResponseEntity.ok(new CursorPage<>(createThreadMaps(topLevelComments, firstReplies, user),
+                    nextCursor(window), null, false));
+        } catch (Exception e) {
+            logger.error("Failed to fetch comment threads", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to fetch comments"));
+        }
+    }
+
+    /** "Load more replies": the next page of replies of a comment, oldest first. */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<?> getReplies(
+            @PathVariable Integer commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            HttpSession session) {
+        ScrollPosition position;
+        try {
+            position = cursor == null ? ScrollPosition.keyset() : commentPosition(PageCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+        try {
+            User user = (User) session.getAttribute("loggedInUser");
+
+            Window<Comment> window = commentRepository.findByParentCommentIdOrderByCreatedAtAscCommentIdAsc(
+                    commentId, position, Limit.of(CursorPage.clampSize(size)));
+
+            return ResponseEntity.ok(new CursorPage<>(createThreadMaps(window.getContent(), List.of(), user),
+                    nextCursor(window), null, false));
+        } catch (Exception e) {
+            logger.error("Failed to fetch replies", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to fetch replies"));
+        }
+    }
+
+    // Comment maps of the given comments with their loaded replies nested, the reply count of
+    // every comment and where the unloaded replies continue; counts and reactions take one
+    // query each for the whole page
+    private List<Map<String, Object>> createThreadMaps(List<Comment> comments, List<Comment> loadedReplies, User currentUser) {
+        List<Comment> all = new ArrayList<>(comments);
+        all.addAll(loadedReplies);
+        Set<Integer> reacted = reactedCommentIds(all, currentUser);
+
+        Map<Integer, Long> replyCounts = new HashMap<>();
+        if (!all.isEmpty()) {
+            for (Object[] row : commentRepository.countRepliesByParentIds(all.stream().map(Comment::getCommentId).toList())) {
+                replyCounts.put((Integer) row[0], (Long) row[1]);
+            }
+        }
+
+        Map<Integer, List<Comment>> repliesByParent = loadedReplies.stream()
+                .collect(Collectors.groupingBy(reply -> reply.getParent().getCommentId()));
+
+        return comments.stream().map(comment -> {
+            List<Comment> replies = repliesByParent.getOrDefault(comment.getCommentId(), List.of());
+            Map<String, Object> map = createThreadMap(comment, replies.stream()
+                    .map(reply -> createThreadMap(reply, List.of(), replyCounts, reacted))
+                    .collect(Collectors.toList()), replyCounts, reacted);
+            if (!replies.isEmpty()) {
+                map.put("repliesCursor", commentCursor(replies.get(replies.size() - 1)));
+            }
+            return map;
+        }).collect(Collectors.toList());
+    }
+
+    private Map<String, Object> createThreadMap(Comment comment, List<Map<String, Object>> replies,
+                                                Map<Integer, Long> replyCounts, Set<Integer> reacted) {
+        Map<String, Object> map = createCommentMap(comment, reacted.contains(comment.getCommentId()));
+        long replyCount = replyCounts.getOrDefault(comment.getCommentId(), 0L);
+        map.put("replies", replies);
+        map.put("replyCount", replyCount);
+        map.put("hasMoreReplies", replyCount > replies.size());
+        map.put("repliesCursor", null);
+        return map;
+    }
+
+    // IDs of the comments the user has reacted to, among the given ones
+    private Set<Integer> reactedCommentIds(List<Comment> comments, User currentUser) {
+        return commentReactionService.reactedCommentIds(currentUser != null ? currentUser.getUserId() : null,
+                comments.stream().map(Comment::getCommentId).toList());
+    }
+
+    private static String nextCursor(Window<Comment> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return commentCursor(window.getContent().get(window.size() - 1));
+    }
+
+    private static String commentCursor(Comment comment) {
+        return PageCursor.encode(new Document("createdAt", comment.getCreatedAt().toString())
+                .append("id", comment.getCommentId()));
+    }
+
+    private static ScrollPosition commentPosition(Document keys) {
+        try {
+            Map<String, Object> position = new LinkedHashMap<>();
+            position.put("createdAt", LocalDateTime.parse(keys.getString("createdAt")));
+            position.put("commentId", keys.getInteger("id"));
+            return ScrollPosition.forward(position);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 
-    private Map<String, Object> createCommentMap(Comment comment, User currentUser) {
+    private Map<String, Object> createCommentMap(Comment comment, boolean isReacted) {
         Map<String, Object> commentMap = new HashMap<>();
         commentMap.put("commentId", comment.getCommentId());
         commentMap.put("comment", comment.getComment());
@@ -83,12 +254,7 @@ public class CommentController {
         commentMap.put("createdAt", comment.getCreatedAt());
         commentMap.put("username", comment.getUser().getUsername());
         commentMap.put("reactionCount", comment.getReactionCount());
-        
-        if (currentUser != null) {
-            commentMap.put("isReacted", comment.getReactedUserIds().contains(currentUser.getUserId()));
-        } else {
-            commentMap.put("isReacted", false);
-        }
+        commentMap.put("isReacted", isReacted);
         
         if (comment.getParent() != null) {
             commentMap.put("parentId", comment.getParent().getCommentId());
@@ -150,7 +316,7 @@ public class CommentController {
             Comment savedComment = commentRepository.save(comment);
 
             // 5. Prepare response
-            Map<String, Object> response = createCommentMap(savedComment, user);
+            Map<String, Object> response = createCommentMap(savedComment, false);
             response.put("success", true);
             return ResponseEntity.ok(response);
 
@@ -184,40 +350,66 @@ public class CommentController {
                         .body(Map.of("error", "Comment ID is required"));
             }
 
-            Optional<Comment> commentOpt = commentRepository.findById(reactionRequest.getCommentId());
-            if (commentOpt.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Comment not found"));
-            }
+            return reactionResponse(reactionRequest.getCommentId(),
+                    () -> commentReactionService.toggle(reactionRequest.getCommentId(), user.getUserId()));
 
-            Comment comment = commentOpt.get();
-            Set<Integer> reactedUserIds = comment.getReactedUserIds();
-            boolean isReacted = reactedUserIds.contains(user.getUserId());
+        } catch (Exception e) {
+            logger.error("Failed to toggle reaction", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to toggle reaction"));
+        }
+    }
 
-            if (isReacted) {
-                // Remove reaction
-                reactedUserIds.remove(user.getUserId());
-                comment.setReactionCount(comment.getReactionCount() - 1);
-            } else {
-                // Add reaction
-                reactedUserIds.add(user.getUserId());
-                comment.setReactionCount(comment.getReactionCount() + 1);
-            }
+    // Idempotent counterparts of /react: repeating them changes nothing
+    @PutMapping("/{commentId}/reaction")
+    public ResponseEntity<?> addReaction(@PathVariable Integer commentId, HttpSession session) {
+        return setReaction(commentId, true, session);
+    }
 
-            commentRepository.save(comment);
+    @DeleteMapping("/{commentId}/reaction")
+    public ResponseEntity<?> removeReaction(@PathVariable Integer commentId, HttpSession session) {
+        return setReaction(commentId, false, session);
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("reactionCount", comment.getReactionCount());
-            response.put("isReacted", !isReacted);
-            return ResponseEntity.ok(response);
+    private ResponseEntity<?> setReaction(Integer commentId, boolean reacted, HttpSession session) {
+        try {
+            User user = (User) session.getAttribute("loggedInUser");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Authentication required"));
+            }
+
+            return reactionResponse(commentId, () -> {
+                if (reacted) {
+                    commentReactionService.react(commentId, user.getUserId());
+                } else {
+                    commentReactionService.unreact(commentId, user.getUserId());
+                }
+                return reacted;
+            });
 
         } catch (Exception e) {
-            logger.error("Failed to toggle reaction", e);
+            logger.error("Failed to update reaction", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Failed to toggle reaction"));
+                    .body(Map.of("error", "Failed to update reaction"));
         }
     }
+
+    // Applies a reaction change to an existing comment and reports the resulting state
+    private ResponseEntity<?> reactionResponse(Integer commentId, BooleanSupplier change) {
+        if (!commentRepository.existsById(commentId)) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Comment not found"));
+        }
+
+        boolean isReacted = change.getAsBoolean();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("reactionCount", commentRepository.findReactionCount(commentId).orElse(0));
+        response.put("isReacted", isReacted);
+        return ResponseEntity.ok(response);
+    }
     
     @GetMapping("/curator/recent")
     public ResponseEntity<?> getRecentCommentsForCurator(HttpSession session) {
@@ -332,7 +524,7 @@ public class CommentController {
                 commentRepository.save(comment);
             } else {
                 // Hard delete if no replies
-                commentRepository.delete(comment);
+                commentReactionService.deleteComment(comment);
             }
 
             return ResponseEntity.ok(Map.of("success", true, "message", "Comment deleted successfully"));
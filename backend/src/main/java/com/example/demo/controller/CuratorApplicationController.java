@@ -3,8 +3,8 @@ package com.example.demo.controller;
 import com.example.demo.dto.CuratorApplicationRequest;
 import com.example.demo.entity.*;
 import com.example.demo.repository.CuratorApplicationRepository;
-import com.example.demo.repository.NotificationRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.NotificationService;
 
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,7 +34,7 @@ public class CuratorApplicationController {
     private UserRepository userRepository;
     
     @Autowired
-    private NotificationRepository notificationRepository;
+    private NotificationService notificationService;
 
     private static final String CERT_UPLOAD_DIR = "uploads/certifications/";
 
@@ -92,6 +93,7 @@ public class CuratorApplicationController {
 
         // 5. Notify professors
         List<User> professors = userRepository.findByRole(UserRole.professor);
+        List<Notification> batch = new ArrayList<>(professors.size());
         for (User prof : professors) {
             Notification noti = new Notification();
             noti.setRecipient(prof);
@@ -102,9 +104,9 @@ public class CuratorApplicationController {
             noti.setMessage(user.getUsername() + " has submitted a curator application.");
             noti.setRead(false);
             noti.setCreatedAt(LocalDateTime.now());
-
-            notificationRepository.save(noti);
+            batch.add(noti);
         }
+        notificationService.sendAll(batch);
 
         return ResponseEntity.ok("Your application has been submitted.");
     }
@@ -56,7 +56,7 @@ public class CuratorDashboardController {
                 .map(UserArtifact::getArtifactId)
                 .toList();
 
-        List<Artifact> artifacts = artifactRepository.findAllById(artifactIds);
+        List<Artifact> artifacts = artifactRepository.findCardsByIds(artifactIds);
 
      // Create a map of artifactId -> Artifact
      Map<String, Artifact> artifactMap = artifacts.stream()
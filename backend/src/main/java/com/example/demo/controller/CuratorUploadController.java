@@ -2,9 +2,11 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.*;
 import com.example.demo.repository.ArtifactRepository;
-import com.example.demo.repository.NotificationRepository;
 import com.example.demo.repository.UserArtifactRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ArtifactChangeService;
+import com.example.demo.service.ArtifactVisibilityService;
+import com.example.demo.service.NotificationService;
 import com.example.demo.util.ArtifactIdGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -49,11 +51,17 @@ public class CuratorUploadController {
     private UserArtifactRepository userArtifactRepository;
     
     @Autowired
-    private NotificationRepository notificationRepository;
+    private NotificationService notificationService;
 
     @Autowired
     private EntityManager entityManager; 
 
+    @Autowired
+    private ArtifactVisibilityService artifactVisibilityService;
+
+    @Autowired
+    private ArtifactChangeService artifactChangeService;
+
 
     private final Path uploadsDir = Paths.get("uploads");
    
@@ -132,6 +140,7 @@ public class CuratorUploadController {
         }
         
         Artifact savedArtifact = artifactRepository.save(artifact);
+        artifactChangeService.artifactChanged(savedArtifact);
 
         // 2) Create + save UserArtifact (Postgres)
         UserArtifact ua = userArtifactRepository
@@ -149,6 +158,7 @@ public class CuratorUploadController {
         ua.setProfessorId(null);
 
         UserArtifact savedUA = userArtifactRepository.save(ua);
+        artifactVisibilityService.refresh(savedUA.getArtifactId());
 
      // 3) Notify professors (only if new OR status changed from something else)
      boolean shouldNotify = isNew || previous != ApplicationStatus.pending;
@@ -168,7 +178,7 @@ public class CuratorUploadController {
                  n.setCreatedAt(LocalDateTime.now());
                  batch.add(n);
              }
-             notificationRepository.saveAll(batch);
+             notificationService.sendAll(batch);
          }
      }
 
@@ -194,6 +204,8 @@ public class CuratorUploadController {
 
         artifact.setArtist_name(artistName);
         artifact.setUploaded_by(loggedInUser.getUsername());
+        // New uploads are pending review until a professor accepts them
+        artifact.setVisibility(ArtifactVisibility.hidden);
 
         artifact.setTitle(title);
         artifact.setDescription(description);
@@ -351,6 +363,7 @@ public class CuratorUploadController {
             artifact.setImages(currentImages);
 
             Artifact saved = artifactRepository.save(artifact);
+            artifactChangeService.artifactChanged(saved);
             
          // Handle UserArtifact resubmission
             UserArtifact ua = userArtifactRepository
@@ -366,6 +379,7 @@ public class CuratorUploadController {
 
 
                 userArtifactRepository.save(ua);
+                artifactVisibilityService.refresh(ua.getArtifactId());
 
                 // Notify professors
                 List<User> professors = userRepository.findByRole(UserRole.professor);
@@ -383,7 +397,7 @@ public class CuratorUploadController {
                         n.setCreatedAt(LocalDateTime.now());
                         batch.add(n);
                     }
-                    notificationRepository.saveAll(batch);
+                    notificationService.sendAll(batch);
                 }
             }
 
@@ -1,79 +1,136 @@
 package com.example.demo.controller;
 
-import com.example.demo.entity.Notification;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.NotificationItem;
 import com.example.demo.entity.User;
-import com.example.demo.repository.NotificationRepository;
+import com.example.demo.service.NotificationPushService;
+import com.example.demo.service.NotificationService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
- 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/notifications")
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class NotificationController {
 
     @Autowired
-    private NotificationRepository notificationRepo;
+    private NotificationService notificationService;
 
-    @GetMapping
-    public List<Notification> getNotifications(
-            HttpSession session,
-            @RequestParam(value = "unreadOnly", required = false) Boolean unreadOnly
-    ) {
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    /**
+     * Server-Sent Events stream of the logged-in user's new notifications and unread
+     * count changes, replacing polling of the list. See NotificationPushService.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(HttpSession session) {
         User user = (User) session.getAttribute("loggedInUser");
         if (user == null) {
-            throw new RuntimeException("Login required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-
-        List<Notification> result;
-
-        if (Boolean.TRUE.equals(unreadOnly)) {
-            result = notificationRepo.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(user);
-            System.out.println("DEBUG: Returning " + result.size() + " unread notifications");
-        } else {
-            result = notificationRepo.findByRecipientOrderByCreatedAtDesc(user);
-            long readCount = result.stream().filter(Notification::isRead).count();
-            long unreadCount = result.size() - readCount;
-            System.out.println("DEBUG: Returning " + result.size() + " total notifications");
-            System.out.println("        Read: " + readCount + " | Unread: " + unreadCount);
+        SseEmitter emitter = notificationPushService.subscribe(user.getUserId(),
+                () -> notificationService.unreadCount(user.getUserId()));
+        if (emitter == null) {
+            // Too many open streams: EventSource does not retry a 204
+            return ResponseEntity.noContent().build();
         }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
 
-        return result;
+    // Unpaged list, kept for older clients; the inbox endpoint pages the same rows
+    @GetMapping
+    public List<NotificationItem> getNotifications(
+            HttpSession session,
+            @RequestParam(value = "unreadOnly", required = false) Boolean unreadOnly
+    ) {
+        User user = requireUser(session);
+        return notificationService.all(user.getUserId(), Boolean.TRUE.equals(unreadOnly));
     }
 
+    /** Keyset-paginated inbox, newest first. */
+    @GetMapping("/inbox")
+    public ResponseEntity<?> getInbox(
+            HttpSession session,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly
+    ) {
+        User user = requireUser(session);
+        try {
+            CursorPage<NotificationItem> page = notificationService.inbox(
+                    user.getUserId(), unreadOnly, cursor, CursorPage.clampSize(size));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+    }
 
+    /** The bell badge: a cached counter, not a table scan. */
+    @GetMapping("/unread-count")
+    public Map<String, Long> getUnreadCount(HttpSession session) {
+        User user = requireUser(session);
+        return Map.of("unreadCount", notificationService.unreadCount(user.getUserId()));
+    }
 
     @PutMapping("/{id}/read")
     public void markAsRead(@PathVariable Integer id, HttpSession session) {
-        User user = (User) session.getAttribute("loggedInUser");
-        if (user == null) {
-            throw new RuntimeException("Login required");
+        User user = requireUser(session);
+        try {
+            notificationService.markRead(user.getUserId(), id);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (SecurityException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
         }
+    }
 
-        Notification noti = notificationRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
+    // Bulk changes: each is one statement and reports how many notifications it changed
 
-        if (!noti.getRecipient().getUserId().equals(user.getUserId())) {
-            throw new RuntimeException("Unauthorized");
-        }
+    @PutMapping("/mark-all-read")
+    public Map<String, Integer> markAllAsRead(HttpSession session) {
+        User user = requireUser(session);
+        return Map.of("updated", notificationService.markAllRead(user.getUserId()));
+    }
 
-        noti.setRead(true);
-        notificationRepo.save(noti);
+    /** Marks read everything created at or before {@code before} (ISO date-time). */
+    @PutMapping("/mark-read-before")
+    public Map<String, Integer> markReadBefore(
+            HttpSession session,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before
+    ) {
+        User user = requireUser(session);
+        return Map.of("updated", notificationService.markReadBefore(user.getUserId(), before));
     }
 
-    @Transactional
-    @PutMapping("/mark-all-read")
-    public void markAllAsRead(HttpSession session) {
+    /** Deletes read notifications created before {@code before} (ISO date-time). */
+    @DeleteMapping("/read")
+    public Map<String, Integer> deleteReadOlderThan(
+            HttpSession session,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before
+    ) {
+        User user = requireUser(session);
+        return Map.of("deleted", notificationService.deleteReadBefore(user.getUserId(), before));
+    }
+
+    private static User requireUser(HttpSession session) {
         User user = (User) session.getAttribute("loggedInUser");
         if (user == null) {
-            throw new RuntimeException("Login required");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required");
         }
-
-        List<Notification> unread = notificationRepo.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(user);
-        unread.forEach(n -> n.setRead(true));
-        notificationRepo.saveAll(unread);
+        return user;
     }
 }
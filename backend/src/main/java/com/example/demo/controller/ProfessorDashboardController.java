@@ -10,9 +10,11 @@ import com.example.demo.entity.UserArtifact;
 import com.example.demo.entity.UserRole;
 import com.example.demo.repository.ArtifactRepository;
 import com.example.demo.repository.CuratorApplicationRepository;
-import com.example.demo.repository.NotificationRepository;
 import com.example.demo.repository.UserArtifactRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ArtifactVisibilityService;
+import com.example.demo.service.NotificationService;
+import com.example.demo.util.PageCursor;
 
 import jakarta.servlet.http.HttpSession;
 
@@ -34,9 +36,13 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import org.bson.Document;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import java.util.stream.Collectors;
 
 @RestController
@@ -56,7 +62,10 @@ public class ProfessorDashboardController {
 	 private UserRepository userRepository;
 	 
 	 @Autowired
-	    private NotificationRepository notificationRepository;
+	    private NotificationService notificationService;
+
+	 @Autowired
+	 private ArtifactVisibilityService artifactVisibilityService;
 
 
     
@@ -592,7 +601,7 @@ public class ProfessorDashboardController {
         noti.setMessage("Your curator application has been approved.");
         noti.setRead(false);
         noti.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(noti);
+        notificationService.send(noti);
 
         return ResponseEntity.ok("Application approved and user promoted to curator.");
     }
@@ -642,7 +651,7 @@ public class ProfessorDashboardController {
         noti.setMessage("Your curator application has been rejected. Reason: " + reason);
         noti.setRead(false);
         noti.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(noti);
+        notificationService.send(noti);
 
         return ResponseEntity.ok("Application rejected successfully.");
     }
@@ -676,6 +685,7 @@ public class ProfessorDashboardController {
         ua.setReason(comment);
         ua.setProfessorId(professor.getUserId()); 
         userArtifactRepository.save(ua);
+        artifactVisibilityService.refresh(ua.getArtifactId());
 
         // Fetch uploader
         User uploader = userRepository.findById(ua.getUserId())
@@ -691,7 +701,7 @@ public class ProfessorDashboardController {
         noti.setMessage("Your artifact submission has been accepted.");
         noti.setRead(false);
         noti.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(noti);
+        notificationService.send(noti);
 
         return ResponseEntity.ok("Artifact submission accepted successfully.");
     }
@@ -729,6 +739,7 @@ public class ProfessorDashboardController {
         ua.setReason(reason);
         ua.setProfessorId(professor.getUserId()); 
         userArtifactRepository.save(ua);
+        artifactVisibilityService.refresh(ua.getArtifactId());
 
         // Fetch uploader
         User uploader = userRepository.findById(ua.getUserId())
@@ -744,7 +755,7 @@ public class ProfessorDashboardController {
         noti.setMessage("Your artifact submission has been rejected. Reason: " + reason);
         noti.setRead(false);
         noti.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(noti);
+        notificationService.send(noti);
 
         return ResponseEntity.ok("Artifact submission rejected successfully.");
     }
@@ -912,10 +923,8 @@ long curatorPending = curatorApplicationRepo.countByApplicationStatus(Applicatio
         if (hasQuery) {
             String needle = q.trim();
 
-            // 1) match by artifact title
-            //    (Make sure ArtifactRepository has: List<Artifact> findByTitleContainingIgnoreCase(String title);)
-            List<Artifact> matchedArts = artifactRepository.findByTitleContainingIgnoreCase(needle);
-            List<String> matchedArtIds = matchedArts.stream().map(Artifact::getId).toList();
+            // 1) match by artifact title (IDs only)
+            List<String> matchedArtIds = artifactRepository.findIdsByTitleContaining(needle);
 
             // 2) match by curator username
             //    (Make sure UserRepository has: List<User> findByUsernameContainingIgnoreCase(String username);)
@@ -970,6 +979,106 @@ long curatorPending = curatorApplicationRepo.countByApplicationStatus(Applicatio
         int to = Math.min(from + size, uaPool.size());
         List<UserArtifact> pageSlice = from < to ? uaPool.subList(from, to) : List.of();
 
+        List<Map<String, Object>> items = toArtifactRows(pageSlice, professor);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        response.put("total", total); // total across ALL matches (q + status), not just this page
+        response.put("page", page);
+        response.put("size", size);
+        return ResponseEntity.ok(response);
+    }
+
+    // Keyset-paginated variant of /all-artifacts: newest submission first, no offset scan.
+    // Rows whose artifact was deleted from Mongo are dropped from the page.
+    @GetMapping("/all-artifacts/cursor")
+    public ResponseEntity<?> scrollAllArtifacts(
+            HttpSession session,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "none") CursorPage.Count count,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "all") String status
+    ) {
+        User professor = (User) session.getAttribute("loggedInUser");
+        if (professor == null || !professor.getRole().name().equalsIgnoreCase("professor")) {
+            return ResponseEntity.status(403).build();
+        }
+
+        ApplicationStatus statusEnum = null;
+        if (status != null && !"all".equalsIgnoreCase(status)) {
+            for (ApplicationStatus s : ApplicationStatus.values()) {
+                if (s.name().equalsIgnoreCase(status)) {
+                    statusEnum = s;
+                    break;
+                }
+            }
+        }
+
+        ScrollPosition position;
+        try {
+            position = cursor == null ? ScrollPosition.keyset() : submissionPosition(PageCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+        Limit limit = Limit.of(CursorPage.clampSize(size));
+
+        Window<UserArtifact> window;
+        Long total = null;
+        boolean withTotal = cursor == null && count != CursorPage.Count.none;
+        if (q != null && !q.trim().isEmpty()) {
+            String needle = q.trim();
+            List<String> matchedArtIds = artifactRepository.findIdsByTitleContaining(needle);
+            List<Integer> matchedCuratorIds = userRepository.findByUsernameContainingIgnoreCase(needle).stream()
+                    .map(User::getUserId).toList();
+            if (matchedArtIds.isEmpty() && matchedCuratorIds.isEmpty()) {
+                return ResponseEntity.ok(new CursorPage<>(List.of(), null, withTotal ? 0L : null, false));
+            }
+            // IN () is not valid SQL, so an empty side gets a value no row has
+            List<String> artIds = matchedArtIds.isEmpty() ? List.of("") : matchedArtIds;
+            List<Integer> curatorIds = matchedCuratorIds.isEmpty() ? List.of(-1) : matchedCuratorIds;
+
+            if (statusEnum != null) {
+                window = userArtifactRepository.findByArtifactIdInAndStatusOrUserIdInAndStatusOrderBySavedAtDescUserArtifactIdDesc(
+                        artIds, statusEnum, curatorIds, statusEnum, position, limit);
+                if (withTotal) total = userArtifactRepository.countByArtifactIdInAndStatusOrUserIdInAndStatus(
+                        artIds, statusEnum, curatorIds, statusEnum);
+            } else {
+                window = userArtifactRepository.findByArtifactIdInOrUserIdInOrderBySavedAtDescUserArtifactIdDesc(
+                        artIds, curatorIds, position, limit);
+                if (withTotal) total = userArtifactRepository.countByArtifactIdInOrUserIdIn(artIds, curatorIds);
+            }
+        } else if (statusEnum != null) {
+            window = userArtifactRepository.findByStatusOrderBySavedAtDescUserArtifactIdDesc(statusEnum, position, limit);
+            if (withTotal) total = userArtifactRepository.countByStatus(statusEnum);
+        } else {
+            window = userArtifactRepository.findAllByOrderBySavedAtDescUserArtifactIdDesc(position, limit);
+            if (withTotal) total = userArtifactRepository.count();
+        }
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            UserArtifact last = window.getContent().get(window.size() - 1);
+            nextCursor = PageCursor.encode(new Document("savedAt", last.getSavedAt().toString())
+                    .append("id", last.getUserArtifactId()));
+        }
+        // Postgres counts are exact; the total also includes rows whose artifact is gone
+        return ResponseEntity.ok(new CursorPage<>(toArtifactRows(window.getContent(), professor), nextCursor, total, false));
+    }
+
+    private static ScrollPosition submissionPosition(Document keys) {
+        try {
+            Map<String, Object> position = new LinkedHashMap<>();
+            position.put("savedAt", Instant.parse(keys.getString("savedAt")));
+            position.put("userArtifactId", keys.getInteger("id"));
+            return ScrollPosition.forward(position);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Dashboard rows for a page of submissions, loading only the artifacts and users on that page
+    private List<Map<String, Object>> toArtifactRows(List<UserArtifact> pageSlice, User professor) {
         // --- fetch only what we need for the page slice ---
         List<String> sliceArtIds = pageSlice.stream().map(UserArtifact::getArtifactId).toList();
         List<Integer> sliceCuratorIds = pageSlice.stream().map(UserArtifact::getUserId).distinct().toList();
@@ -1003,12 +1112,7 @@ long curatorPending = curatorApplicationRepo.countByApplicationStatus(Applicatio
             items.add(dto);
         }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("items", items);
-        response.put("total", total); // total across ALL matches (q + status), not just this page
-        response.put("page", page);
-        response.put("size", size);
-        return ResponseEntity.ok(response);
+        return items;
     }
 
     @GetMapping("/curator-email/{applicationId}")
@@ -1,20 +1,19 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ArtifactRatingSummary;
 import com.example.demo.dto.RatingRequest;
-import com.example.demo.entity.Artifact;
 import com.example.demo.entity.Rating;
 import com.example.demo.entity.User;
 import com.example.demo.entity.UserArtifact;
-import com.example.demo.repository.ArtifactRepository;
 import com.example.demo.repository.RatingRepository;
 import com.example.demo.repository.UserArtifactRepository;
+import com.example.demo.service.ArtifactRatingService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -30,9 +29,8 @@ public class RatingController {
     @Autowired
     private UserArtifactRepository userArtifactRepository;
 
-    // We need to inject the ArtifactRepository to update the Artifact entity
     @Autowired
-    private ArtifactRepository artifactRepository;
+    private ArtifactRatingService artifactRatingService;
 
     @PostMapping
     public ResponseEntity<?> submitRating(
@@ -69,42 +67,14 @@ public class RatingController {
 
             UserArtifact artifactLink = anyUserArtifact.get();
 
-            // Step 4: Check if this user already rated it
-            Optional<Rating> existingRating = ratingRepository
-                    .findByUserIdAndUserArtifact_ArtifactId(
-                            user.getUserId(),
-                            ratingRequest.getArtifactId());
-
-            Rating rating;
-            if (existingRating.isPresent()) {
-                rating = existingRating.get();
-                rating.setRatingValue(ratingRequest.getRatingValue());
-                rating.setRatedAt(LocalDateTime.now());
-            } else {
-                rating = new Rating();
-                rating.setUserId(user.getUserId());
-                rating.setUserArtifact(artifactLink); // ✅ Link to existing userArtifact
-                rating.setRatingValue(ratingRequest.getRatingValue());
-            }
-
-            ratingRepository.save(rating);
-
-            // Step 5: Recalculate and update Mongo artifact's summary fields
-            Optional<Artifact> optionalArtifact = artifactRepository.findById(ratingRequest.getArtifactId());
-            if (optionalArtifact.isPresent()) {
-                Artifact artifact = optionalArtifact.get();
-                Double averageRating = ratingRepository.findAverageRatingByArtifactId(ratingRequest.getArtifactId());
-                Long totalRatings = ratingRepository.countByArtifactId(ratingRequest.getArtifactId());
-
-                artifact.setAverageRating(averageRating);
-                artifact.setTotalRatings(totalRatings);
-                artifactRepository.save(artifact);
-            }
+            // Step 4: Insert or change the rating; the summary row is updated by delta in the same transaction
+            ArtifactRatingSummary summary = artifactRatingService.rate(
+                    user.getUserId(), artifactLink, ratingRequest.getRatingValue());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("averageRating", optionalArtifact.map(Artifact::getAverageRating).orElse(0.0));
-            response.put("totalRatings", optionalArtifact.map(Artifact::getTotalRatings).orElse(0));
+            response.put("averageRating", summary.averageRating());
+            response.put("totalRatings", summary.totalRatings());
             response.put("userRating", ratingRequest.getRatingValue());
 
             return ResponseEntity.ok(response);
@@ -126,34 +96,14 @@ public class RatingController {
                         .body(Map.of("error", "Authentication required"));
             }
 
-            Optional<Rating> existingRating = ratingRepository.findByUserIdAndUserArtifact_ArtifactId(
-                    user.getUserId(),
-                    artifactId
-            );
-
-            if (existingRating.isPresent()) {
-                ratingRepository.delete(existingRating.get());
-
-                // Fetch the artifact to be updated
-                Optional<Artifact> optionalArtifact = artifactRepository.findById(artifactId);
-                if (optionalArtifact.isPresent()) {
-                    Artifact artifact = optionalArtifact.get();
-
-                    // Recalculate average and total ratings
-                    Double averageRating = ratingRepository.findAverageRatingByArtifactId(artifactId);
-                    Long totalRatings = ratingRepository.countByArtifactId(artifactId);
-
-                    // Update the artifact entity
-                    artifact.setAverageRating(averageRating);
-                    artifact.setTotalRatings(totalRatings);
-                    artifactRepository.save(artifact);
-                }
+            Optional<ArtifactRatingSummary> summary = artifactRatingService.unrate(user.getUserId(), artifactId);
 
+            if (summary.isPresent()) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("message", "Rating removed successfully");
-                response.put("averageRating", optionalArtifact.isPresent() ? optionalArtifact.get().getAverageRating() : 0.0);
-                response.put("totalRatings", optionalArtifact.isPresent() ? optionalArtifact.get().getTotalRatings() : 0);
+                response.put("averageRating", summary.get().averageRating());
+                response.put("totalRatings", summary.get().totalRatings());
 
                 return ResponseEntity.ok(response);
             } else {
@@ -176,12 +126,13 @@ public class RatingController {
         try {
             User user = (User) session.getAttribute("loggedInUser");
             
-            Double averageRating = ratingRepository.findAverageRatingByArtifactId(artifactId);
-            Long totalRatings = ratingRepository.countByArtifactId(artifactId);
+            // Single primary key lookup on rating_summary
+            ArtifactRatingSummary summary = artifactRatingService.getSummary(artifactId);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("averageRating", averageRating != null ? averageRating : 0);
-            response.put("totalRatings", totalRatings != null ? totalRatings : 0);
+            response.put("averageRating", summary.averageRating());
+            response.put("totalRatings", summary.totalRatings());
+            response.put("histogram", artifactRatingService.getHistogram(artifactId));
             
             if (user != null) {
                 Optional<Rating> userRating = ratingRepository.findByUserIdAndUserArtifact_ArtifactId(
@@ -4,6 +4,7 @@ import com.example.demo.dto.UserArtifactDTO;
 import com.example.demo.entity.UserArtifact;
 import com.example.demo.entity.UserRole;
 import com.example.demo.repository.UserArtifactRepository;
+import com.example.demo.service.ArtifactVisibilityService;
 
 import jakarta.servlet.http.HttpSession;
 
@@ -27,6 +28,9 @@ public class UserArtifactController {
     @Autowired
     private UserArtifactRepository userArtifactRepository;
 
+    @Autowired
+    private ArtifactVisibilityService artifactVisibilityService;
+
     @PostMapping
     public ResponseEntity<UserArtifactDTO> createUserArtifact(
             @RequestBody UserArtifactDTO userArtifactDTO,
@@ -59,6 +63,7 @@ public class UserArtifactController {
         userArtifact.setSavedAt(Instant.now());
 
         UserArtifact saved = userArtifactRepository.save(userArtifact);
+        artifactVisibilityService.refresh(saved.getArtifactId());
 
         // ✅ 5. Return updated DTO
         userArtifactDTO.setUserArtifactId(saved.getUserArtifactId());
@@ -138,6 +143,7 @@ public class UserArtifactController {
         userArtifact.setProfessorId(professorId != null ? professorId : loggedInUser.getUserId());
 
         UserArtifact updated = userArtifactRepository.save(userArtifact);
+        artifactVisibilityService.refresh(updated.getArtifactId());
 
         // ✅ 5. Return DTO
         UserArtifactDTO dto = new UserArtifactDTO();
@@ -155,7 +161,9 @@ public class UserArtifactController {
 
     @DeleteMapping("/{userArtifactId}")
     public ResponseEntity<Void> deleteUserArtifact(@PathVariable Integer userArtifactId) {
+        Optional<UserArtifact> existing = userArtifactRepository.findById(userArtifactId);
         userArtifactRepository.deleteById(userArtifactId);
+        existing.ifPresent(ua -> artifactVisibilityService.refresh(ua.getArtifactId()));
         return ResponseEntity.noContent().build();
     }
     
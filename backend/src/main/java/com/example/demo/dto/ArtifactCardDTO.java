@@ -0,0 +1,98 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.LocationInfo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * What a list or search result card shows of an artifact. Built from the card
+ * projection of the repository (see CustomArtifactRepositoryImpl.CARD_FIELDS), so
+ * image data, descriptions and image metadata are never read for a listing; the
+ * full document comes from the detail endpoint only.
+ *
+ * JSON names follow ArtifactDTO, so {@code image_url} carries the thumbnail.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArtifactCardDTO(
+        @JsonProperty("_id") String id,
+        String title,
+        @JsonProperty("image_url") String thumbnailUrl,
+        String category,
+        String culture,
+        String period,
+        String medium,
+        @JsonProperty("artist_name") String artistName,
+        // City, country and coordinates: the card's "From:" line and the map markers
+        CardLocation location,
+        // Derived year range (see PeriodNormalizer), when the period names one
+        Integer yearFrom,
+        Integer yearTo,
+        double averageRating,
+        long totalRatings,
+        @JsonProperty("uploaded_by") String uploadedBy,
+        @JsonProperty("uploaded_at") Instant uploadedAt,
+        // Review status, on curator and admin listings only
+        String status,
+        // Kilometres from the search point, on proximity search results only
+        Double distance) {
+
+    public static ArtifactCardDTO of(Artifact artifact, ArtifactRatingSummary rating) {
+        return new ArtifactCardDTO(
+                artifact.getId(),
+                artifact.getTitle(),
+                thumbnailUrl(artifact),
+                artifact.getCategory(),
+                artifact.getCulture(),
+                artifact.getPeriod(),
+                artifact.getMedium(),
+                artifact.getArtist_name(),
+                CardLocation.of(artifact.getLocation()),
+                artifact.getYearFrom(),
+                artifact.getYearTo(),
+                rating != null && rating.averageRating() != null ? rating.averageRating() : 0.0,
+                rating != null && rating.totalRatings() != null ? rating.totalRatings() : 0L,
+                artifact.getUploaded_by(),
+                artifact.getUploaded_at(),
+                null,
+                artifact.getDistance());
+    }
+
+    public ArtifactCardDTO withStatus(String status) {
+        return new ArtifactCardDTO(id, title, thumbnailUrl, category, culture, period, medium, artistName, location,
+                yearFrom, yearTo, averageRating, totalRatings, uploadedBy, uploadedAt, status, distance);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record CardLocation(String city, String country, String continent, Double latitude, Double longitude) {
+
+        // Null when the artifact has no location at all, so the card omits it
+        static CardLocation of(LocationInfo location) {
+            if (location == null) return null;
+            CardLocation card = new CardLocation(blankToNull(location.getCity()), blankToNull(location.getCountry()),
+                    blankToNull(location.getContinent()), location.getLatitude(), location.getLongitude());
+            return card.equals(new CardLocation(null, null, null, null, null)) ? null : card;
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+
+    // image_url when set, otherwise the first image that has a URL
+    private static String thumbnailUrl(Artifact artifact) {
+        if (artifact.getImage_url() != null && !artifact.getImage_url().isBlank()) {
+            return artifact.getImage_url().trim();
+        }
+        List<Artifact.ArtifactImage> images = artifact.getImages();
+        if (images == null) return null;
+        return images.stream()
+                .map(Artifact.ArtifactImage::getBaseimageurl)
+                .filter(url -> url != null && !url.isBlank())
+                .map(String::trim)
+                .findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.dto;
+
+/**
+ * One map cluster: all visible artifacts whose geohash shares the same prefix.
+ */
+public class ArtifactClusterDTO {
+    private String geohash;
+    private long count;
+    private double latitude;
+    private double longitude;
+    private String sampleArtifactId;
+
+    public ArtifactClusterDTO() {}
+
+    public ArtifactClusterDTO(String geohash, long count, double latitude, double longitude, String sampleArtifactId) {
+        this.geohash = geohash;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.sampleArtifactId = sampleArtifactId;
+    }
+
+    // Getters and Setters
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getSampleArtifactId() {
+        return sampleArtifactId;
+    }
+
+    public void setSampleArtifactId(String sampleArtifactId) {
+        this.sampleArtifactId = sampleArtifactId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+/**
+ * Average and count of the ratings of one artifact.
+ */
+public record ArtifactRatingSummary(String artifactId, Double averageRating, Long totalRatings) {
+
+    public static ArtifactRatingSummary unrated(String artifactId) {
+        return new ArtifactRatingSummary(artifactId, 0.0, 0L);
+    }
+}
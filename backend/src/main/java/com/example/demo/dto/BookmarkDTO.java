@@ -7,6 +7,8 @@ public class BookmarkDTO {
     private String artifactId;
     private Integer userId;
     private LocalDateTime createdAt;
+    private double averageRating;
+    private int totalRatings;
     
     // Getters and Setters
     public Integer getBookmarkId() {
@@ -40,4 +42,20 @@ public class BookmarkDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int getTotalRatings() {
+        return totalRatings;
+    }
+
+    public void setTotalRatings(int totalRatings) {
+        this.totalRatings = totalRatings;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last
+ * page. {@code total} is only filled in on the first page and only when asked for;
+ * an estimated total may be a lower bound.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long total, boolean totalEstimated) {
+
+    /** How the first page computes {@code total}. */
+    public enum Count { none, estimated, exact }
+
+    // Upper bound on the page size of the cursor endpoints
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(items), nextCursor, total, totalEstimated);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of search results plus, per facet field (category, culture, period,
+ * department), the most frequent values among all matches with their counts.
+ */
+public record FacetedSearchResult<T>(Page<T> page, Map<String, List<FacetCount>> facets) {
+
+    public record FacetCount(String value, long count) {}
+
+    public <R> FacetedSearchResult<R> map(Function<Page<T>, Page<R>> converter) {
+        return new FacetedSearchResult<>(converter.apply(page), facets);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes of one collection compared with the declared ones. {@code missing} are
+ * declared but absent, {@code mismatched} exist under a declared name but with other
+ * keys or collation, {@code unused} exist but served no operation since
+ * {@code accessesSince} (counters restart with the server), {@code undeclared}
+ * exist without being declared anywhere.
+ */
+public record IndexReport(String collection, List<IndexUsage> indexes, List<String> missing,
+                          List<Mismatch> mismatched, List<String> unused, List<String> undeclared) {
+
+    public record IndexUsage(String name, Map<String, Object> keys, boolean declared, long ops, Instant accessesSince) {}
+
+    public record Mismatch(String name, String difference) {}
+}
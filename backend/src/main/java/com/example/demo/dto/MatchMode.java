@@ -0,0 +1,59 @@
+package com.example.demo.dto;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * How a search field filter compares its value with the stored one. The value is
+ * always taken literally, never as a regular expression.
+ *
+ * {@code exact} and {@code prefix} are case-sensitive and can use a plain index
+ * (equality, or a range for the anchored prefix). {@code iexact} is equality under
+ * the case-insensitive English collation, which the collated indexes on the
+ * dropdown fields serve. {@code contains} is the default: a case-insensitive
+ * substring match that has to scan.
+ *
+ * A collation applies to a whole query, so one request can't use both {@code exact}
+ * and {@code iexact}. The A-Z / Z-A title sorts run under the same collation, which
+ * makes {@code exact} compare case-insensitively there too.
+ */
+public enum MatchMode {
+    exact, iexact, prefix, contains;
+
+    // Search parameters that accept a match mode
+    public static final Set<String> FIELDS = Set.of(
+            "title", "category", "culture", "department", "period", "medium", "artistName", "tags", "city", "country");
+
+    /**
+     * Parses a {@code match} request parameter such as {@code "category:exact,title:prefix"}.
+     * Fields left out use {@link #contains}.
+     *
+     * @throws IllegalArgumentException on an unknown field or mode, or when {@code exact}
+     *         and {@code iexact} are mixed
+     */
+    public static Map<String, MatchMode> parse(String spec) {
+        // Sorted, so equal specs give equal maps whatever order the fields came in
+        Map<String, MatchMode> modes = new TreeMap<>();
+        if (spec == null || spec.isBlank()) {
+            return modes;
+        }
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] fieldAndMode = part.split(":", 2);
+            String field = fieldAndMode[0].trim();
+            if (!FIELDS.contains(field) || fieldAndMode.length < 2) {
+                throw new IllegalArgumentException("Invalid match: " + part.trim());
+            }
+            try {
+                modes.put(field, MatchMode.valueOf(fieldAndMode[1].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid match mode: " + fieldAndMode[1].trim());
+            }
+        }
+        if (modes.containsValue(exact) && modes.containsValue(iexact)) {
+            throw new IllegalArgumentException("Invalid match: exact and iexact can't be combined");
+        }
+        return modes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entity.Notification;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * What the inbox and the push stream show of a notification: its own columns and
+ * the username of whoever caused it, never the recipient or source User rows.
+ */
+public record NotificationItem(
+        Integer notiId,
+        String notificationType,
+        String message,
+        String relatedId,
+        String relatedType,
+        LocalDateTime createdAt,
+        @JsonProperty("isRead") boolean isRead,
+        String sourceUsername) {
+
+    public static NotificationItem of(Notification notification) {
+        return new NotificationItem(
+                notification.getNotiId(),
+                notification.getNotificationType(),
+                notification.getMessage(),
+                notification.getRelatedId(),
+                notification.getRelatedType(),
+                notification.getCreatedAt(),
+                notification.isRead(),
+                notification.getSource() != null ? notification.getSource().getUsername() : null);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.demo.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.bson.types.Binary;
+import com.example.demo.util.PeriodNormalizer;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
@@ -11,33 +16,84 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Document(collection = "artifacts")
+@CompoundIndexes({
+    // Search always filters on visibility first, then on one of the common dropdown fields
+    @CompoundIndex(name = "visibility_category", def = "{ 'visibility': 1, 'category': 1 }"),
+    @CompoundIndex(name = "visibility_culture", def = "{ 'visibility': 1, 'culture': 1 }"),
+    @CompoundIndex(name = "visibility_department", def = "{ 'visibility': 1, 'department': 1 }"),
+    @CompoundIndex(name = "visibility_period", def = "{ 'visibility': 1, 'period': 1 }"),
+    // Case-insensitive (iexact) dropdown matches run under the English secondary-strength
+    // collation, which only indexes built with that same collation can serve
+    @CompoundIndex(name = "visibility_category_ci", def = "{ 'visibility': 1, 'category': 1 }",
+            collation = "{ 'locale': 'en', 'strength': 2 }"),
+    @CompoundIndex(name = "visibility_culture_ci", def = "{ 'visibility': 1, 'culture': 1 }",
+            collation = "{ 'locale': 'en', 'strength': 2 }"),
+    @CompoundIndex(name = "visibility_department_ci", def = "{ 'visibility': 1, 'department': 1 }",
+            collation = "{ 'locale': 'en', 'strength': 2 }"),
+    @CompoundIndex(name = "visibility_period_ci", def = "{ 'visibility': 1, 'period': 1 }",
+            collation = "{ 'locale': 'en', 'strength': 2 }"),
+    @CompoundIndex(name = "visibility_rating", def = "{ 'visibility': 1, 'averageRating': -1 }"),
+    // Year range overlap filters and the oldest/newest sorts
+    @CompoundIndex(name = "visibility_year_from_to", def = "{ 'visibility': 1, 'yearFrom': 1, 'yearTo': 1 }"),
+    @CompoundIndex(name = "visibility_year_to", def = "{ 'visibility': 1, 'yearTo': -1 }"),
+    // Proximity search ($geoNear) over the GeoJSON copy of location.latitude/longitude
+    @CompoundIndex(name = "visibility_location_point", def = "{ 'visibility': 1, 'location.point': '2dsphere' }"),
+    // Map clustering: bounding box range on lat/lon, then group on geohash prefixes
+    @CompoundIndex(name = "visibility_location_latlon",
+            def = "{ 'visibility': 1, 'location.latitude': 1, 'location.longitude': 1, 'location.geohash': 1 }")
+})
 public class Artifact {
     @Id
     @Field("_id")
     private String _id;
 
     // Main artifact fields
+    // Weighted text index backing relevance ("best_match") keyword search
+    @TextIndexed(weight = 10)
     private String title;
+    @TextIndexed(weight = 1)
     private String description;
     private String category;
+    @TextIndexed(weight = 2)
     private String culture;
+    @TextIndexed(weight = 2)
     private String department;
+    @TextIndexed(weight = 2)
     private String period;
     private LocalDate exact_found_date;
+    // Years covered by exact_found_date or else the period text (see PeriodNormalizer);
+    // kept in sync by the setters, backfilled by ArtifactYearRangeService
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Integer yearsVersion;
+    @TextIndexed(weight = 2)
     private String medium;
     private String dimension;
+    @TextIndexed(weight = 5)
     private List<String> tags;
     private List<ArtifactImage> images;
     private LocationInfo location;
     private String uploaded_by;
     private Instant uploaded_at;
     private Instant updated_at;
+    @TextIndexed(weight = 8)
     private String artist_name;
     @JsonProperty("image_url")
     private String image_url;
     
     private Double averageRating;
     private Long totalRatings;
+    // Stamp of the rating rebuild or rating write that last set the two above (see ArtifactRatingService)
+    private Long ratingsGeneration;
+
+    // Mirrors user_artifact_tbl review status; maintained by ArtifactVisibilityService
+    private ArtifactVisibility visibility;
+    // Status of the latest submission, absent when never submitted; same maintainer
+    private ApplicationStatus reviewStatus;
+
+    // Kilometres from the search point; only set on results of a proximity search
+    @ReadOnlyProperty
+    private Double distance;
 
     public String get_id() {
 		return _id;
@@ -140,10 +196,20 @@ public class Artifact {
     public void setDepartment(String department) { this.department = department; }
 
     public String getPeriod() { return period; }
-    public void setPeriod(String period) { this.period = period; }
+    public void setPeriod(String period) { this.period = period; syncYears(); }
 
     public LocalDate getExact_found_date() { return exact_found_date; }
-    public void setExact_found_date(LocalDate exact_found_date) { this.exact_found_date = exact_found_date; }
+    public void setExact_found_date(LocalDate exact_found_date) { this.exact_found_date = exact_found_date; syncYears(); }
+
+    public Integer getYearFrom() { return yearFrom; }
+    public Integer getYearTo() { return yearTo; }
+
+    private void syncYears() {
+        PeriodNormalizer.YearRange range = PeriodNormalizer.of(period, exact_found_date);
+        yearFrom = range == null ? null : range.from();
+        yearTo = range == null ? null : range.to();
+        yearsVersion = PeriodNormalizer.VERSION;
+    }
 
     public String getMedium() { return medium; }
     public void setMedium(String medium) { this.medium = medium; }
@@ -177,6 +243,15 @@ public class Artifact {
     @JsonProperty("image_url")
     public void setImage_url(String image_url) { this.image_url = image_url; }
 
+    public ArtifactVisibility getVisibility() { return visibility; }
+    public void setVisibility(ArtifactVisibility visibility) { this.visibility = visibility; }
+
+    public ApplicationStatus getReviewStatus() { return reviewStatus; }
+    public void setReviewStatus(ApplicationStatus reviewStatus) { this.reviewStatus = reviewStatus; }
+
+    public Double getDistance() { return distance; }
+    public void setDistance(Double distance) { this.distance = distance; }
+
     // Additional methods
     public double getAverageRating() { return 0; }
     public int getTotalRatings() { return 0; }
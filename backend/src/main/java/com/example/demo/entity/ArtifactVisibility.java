@@ -0,0 +1,11 @@
+package com.example.demo.entity;
+
+/**
+ * Denormalized review state stored on each Mongo artifact document so search can
+ * filter on one indexed field. "hidden" means the artifact has a pending or
+ * rejected UserArtifact row; everything else is "visible".
+ */
+public enum ArtifactVisibility {
+    visible,
+    hidden
+}
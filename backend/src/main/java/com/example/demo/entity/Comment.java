@@ -3,12 +3,14 @@ package com.example.demo.entity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @Entity
-@Table(name = "comment_tbl")
+@Table(name = "comment_tbl", indexes = {
+        // Thread pages: top-level comments of an artifact newest first, replies of a comment oldest first
+        @Index(name = "idx_comment_artifact_created", columnList = "user_artifact_id, created_at, comment_id"),
+        @Index(name = "idx_comment_parent_created", columnList = "parent_id, created_at, comment_id")
+})
 public class Comment {
 
     @Id
@@ -46,15 +48,10 @@ public class Comment {
     @Column(name = "is_deleted")
     private Boolean isDeleted = false;
 
-    // New fields for reactions
-    @Column(name = "reaction_count", columnDefinition = "integer default 0")
+    // Maintained by CommentReactionRepository together with the comment_reactions rows
+    @Column(name = "reaction_count", columnDefinition = "integer default 0", updatable = false)
     private Integer reactionCount = 0;
 
-    @ElementCollection
-    @CollectionTable(name = "comment_reactions", joinColumns = @JoinColumn(name = "comment_id"))
-    @Column(name = "user_id")
-    private Set<Integer> reactedUserIds = new HashSet<>();
-
     // === Getters and Setters ===
     
     public User getUser() {
@@ -144,12 +141,4 @@ public class Comment {
     public void setReactionCount(Integer reactionCount) {
         this.reactionCount = reactionCount;
     }
-
-    public Set<Integer> getReactedUserIds() {
-        return reactedUserIds;
-    }
-
-    public void setReactedUserIds(Set<Integer> reactedUserIds) {
-        this.reactedUserIds = reactedUserIds;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One user's reaction to one comment. The (comment_id, user_id) primary key makes
+ * a reaction unique, so adding and removing are idempotent; rows are only changed
+ * through the statements in CommentReactionRepository, which keep
+ * comment_tbl.reaction_count in step.
+ */
+@Entity
+@Table(name = "comment_reactions")
+@IdClass(CommentReaction.Key.class)
+public class CommentReaction {
+
+    @Id
+    @Column(name = "comment_id")
+    private Integer commentId;
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public static class Key implements Serializable {
+
+        private Integer commentId;
+        private Integer userId;
+
+        public Key() {}
+
+        public Key(Integer commentId, Integer userId) {
+            this.commentId = commentId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && Objects.equals(commentId, other.commentId) && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(commentId, userId);
+        }
+    }
+
+    // === Getters ===
+
+    public Integer getCommentId() {
+        return commentId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.demo.entity;
 
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import com.example.demo.util.GeoHash;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class LocationInfo {
 	private String placename = "";
     private String river = "";
@@ -9,6 +14,14 @@ public class LocationInfo {
     private String continent = "";
     private Double latitude;
     private Double longitude;
+
+    // GeoJSON copy of latitude/longitude for the 2dsphere index; kept in sync by the setters
+    @JsonIgnore
+    private GeoJsonPoint point;
+
+    // Full-precision geohash; map clustering groups on its prefixes
+    @JsonIgnore
+    private String geohash;
     
     public LocationInfo() {}
 
@@ -69,6 +82,7 @@ public class LocationInfo {
 
 	public void setLatitude(Double latitude) {
 		this.latitude = latitude;
+		syncPoint();
 	}
 
 	public Double getLongitude() {
@@ -77,6 +91,27 @@ public class LocationInfo {
 
 	public void setLongitude(Double longitude) {
 		this.longitude = longitude;
+		syncPoint();
+	}
+
+	public GeoJsonPoint getPoint() {
+		return point;
+	}
+
+	public String getGeohash() {
+		return geohash;
+	}
+
+	// GeoJSON is [longitude, latitude]; out-of-range values are left unindexed rather than rejected
+	private void syncPoint() {
+		if (latitude != null && longitude != null
+				&& Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180) {
+			point = new GeoJsonPoint(longitude, latitude);
+			geohash = GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+		} else {
+			point = null;
+			geohash = null;
+		}
 	}
 
     
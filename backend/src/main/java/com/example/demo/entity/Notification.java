@@ -6,7 +6,13 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "notification_tbl")
+@Table(name = "notification_tbl", indexes = {
+        // Inbox pages newest first, and the unread count
+        @Index(name = "idx_notification_recipient_created", columnList = "recipient_user_id, created_at, noti_id"),
+        @Index(name = "idx_notification_recipient_read", columnList = "recipient_user_id, is_read"),
+        // Retention sweeps by age
+        @Index(name = "idx_notification_created", columnList = "created_at")
+})
 public class Notification {
 
     @Id
@@ -14,11 +20,12 @@ public class Notification {
     @Column(name = "noti_id")
     private Integer notiId;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    // Lazy: inbox reads go through the NotificationItem projection and never need these rows
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "recipient_user_id", nullable = false)
     private User recipient;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "source_user_id")
     private User source;
 
@@ -38,7 +45,7 @@ public class Notification {
     private boolean isRead = false;
 
     @Column(name = "created_at", columnDefinition = "timestamp default CURRENT_TIMESTAMP")
-    private LocalDateTime createdAt;
+    private LocalDateTime createdAt = LocalDateTime.now();
 
     // Getters and Setters
 
@@ -0,0 +1,69 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of the ratings of one artifact. Rows are only changed through the
+ * delta upsert in RatingSummaryRepository, never by saving this entity.
+ */
+@Entity
+@Table(name = "rating_summary")
+public class RatingSummary {
+
+    @Id
+    @Column(name = "artifact_id")
+    private String artifactId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    // Histogram of rating values 1..5
+    @Column(name = "count_1", nullable = false)
+    private long count1;
+
+    @Column(name = "count_2", nullable = false)
+    private long count2;
+
+    @Column(name = "count_3", nullable = false)
+    private long count3;
+
+    @Column(name = "count_4", nullable = false)
+    private long count4;
+
+    @Column(name = "count_5", nullable = false)
+    private long count5;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
+    }
+
+    /** Number of ratings per value, index 0 holding the 1-star count. */
+    public long[] getHistogram() {
+        return new long[] { count1, count2, count3, count4, count5 };
+    }
+
+    // === Getters ===
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -3,7 +3,6 @@ package com.example.demo.repository;
 import com.example.demo.entity.Artifact;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -20,39 +19,6 @@ public interface ArtifactRepository extends MongoRepository<Artifact, String>, C
     @Query("{ '_id' : ?0 }")
     Optional<Artifact> findById(String _id);
 
-    // Distinct values queries - Fixed to use aggregation pipeline
-    @Aggregation(pipeline = {
-        "{ '$group': { '_id': '$category' } }",
-        "{ '$match': { '_id': { '$ne': null } } }",
-        "{ '$sort': { '_id': 1 } }",
-        "{ '$project': { '_id': 0, 'category': '$_id' } }"
-    })
-    List<String> findAllDistinctCategories();
-
-    @Aggregation(pipeline = {
-        "{ '$group': { '_id': '$period' } }",
-        "{ '$match': { '_id': { '$ne': null } } }",
-        "{ '$sort': { '_id': 1 } }",
-        "{ '$project': { '_id': 0, 'period': '$_id' } }"
-    })
-    List<String> findAllDistinctPeriods();
-
-    @Aggregation(pipeline = {
-        "{ '$group': { '_id': '$culture' } }",
-        "{ '$match': { '_id': { '$ne': null } } }",
-        "{ '$sort': { '_id': 1 } }",
-        "{ '$project': { '_id': 0, 'culture': '$_id' } }"
-    })
-    List<String> findAllDistinctCultures();
-
-    @Aggregation(pipeline = {
-        "{ '$group': { '_id': '$department' } }",
-        "{ '$match': { '_id': { '$ne': null } } }",
-        "{ '$sort': { '_id': 1 } }",
-        "{ '$project': { '_id': 0, 'department': '$_id' } }"
-    })
-    List<String> findAllDistinctDepartments();
-
     // Projection queries for specific fields
     @Query(value = "{ '_id' : ?0 }", fields = "{ 'images' : 1 }")
     List<String> findArtifactImages(String _id);
@@ -0,0 +1,68 @@
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entity.CommentReaction;
+
+@Repository
+public interface CommentReactionRepository extends JpaRepository<CommentReaction, CommentReaction.Key> {
+
+    /**
+     * Adds the reaction and bumps the comment's reaction_count in one statement; the
+     * count only moves when the row was really inserted.
+     *
+     * @return 1 when the reaction was added, 0 when it already existed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH added AS (" +
+            "INSERT INTO comment_reactions (comment_id, user_id, created_at) VALUES (:commentId, :userId, now()) " +
+            "ON CONFLICT DO NOTHING RETURNING comment_id) " +
+            "UPDATE comment_tbl SET reaction_count = COALESCE(reaction_count, 0) + 1 " +
+            "WHERE comment_id IN (SELECT comment_id FROM added)",
+            nativeQuery = true)
+    int add(@Param("commentId") Integer commentId, @Param("userId") Integer userId);
+
+    /**
+     * Removes the reaction and decrements reaction_count in one statement.
+     *
+     * @return 1 when the reaction was removed, 0 when there was none
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH removed AS (" +
+            "DELETE FROM comment_reactions WHERE comment_id = :commentId AND user_id = :userId " +
+            "RETURNING comment_id) " +
+            "UPDATE comment_tbl SET reaction_count = GREATEST(COALESCE(reaction_count, 0) - 1, 0) " +
+            "WHERE comment_id IN (SELECT comment_id FROM removed)",
+            nativeQuery = true)
+    int remove(@Param("commentId") Integer commentId, @Param("userId") Integer userId);
+
+    // Which of the given comments the user has reacted to; served by the primary key
+    @Query("SELECT r.commentId FROM CommentReaction r WHERE r.userId = :userId AND r.commentId IN :commentIds")
+    List<Integer> findReactedCommentIds(@Param("userId") Integer userId, @Param("commentIds") Collection<Integer> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM CommentReaction r WHERE r.commentId = :commentId")
+    void deleteByCommentId(@Param("commentId") Integer commentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM comment_reactions WHERE comment_id IN (" +
+                   "SELECT c.comment_id FROM comment_tbl c WHERE c.user_artifact_id IN :userArtifactIds)",
+           nativeQuery = true)
+    void deleteByUserArtifactIds(@Param("userArtifactIds") List<Integer> userArtifactIds);
+
+    /** Recomputes reaction_count of every comment whose count drifted from its reactions. */
+    @Modifying
+    @Query(value = "UPDATE comment_tbl c SET reaction_count = counted.n " +
+            "FROM (SELECT c2.comment_id, COUNT(r.user_id) AS n FROM comment_tbl c2 " +
+            "LEFT JOIN comment_reactions r ON r.comment_id = c2.comment_id GROUP BY c2.comment_id) counted " +
+            "WHERE counted.comment_id = c.comment_id AND c.reaction_count IS DISTINCT FROM counted.n",
+            nativeQuery = true)
+    int reconcileCounts();
+}
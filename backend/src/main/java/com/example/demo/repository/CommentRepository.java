@@ -1,7 +1,11 @@
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import com.example.demo.entity.Comment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
@@ -23,6 +28,39 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
     @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.parent.commentId = :parentId ORDER BY c.createdAt ASC")
     List<Comment> findRepliesByParentId(@Param("parentId") Integer parentId);
+
+    // Every comment of an artifact with its author, so the whole tree is assembled from one query
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.userArtifact.artifactId = :artifactId ORDER BY c.createdAt ASC, c.commentId ASC")
+    List<Comment> findAllByArtifactIdWithUser(@Param("artifactId") String artifactId);
+
+    // Keyset scrolling of the top-level comments of an artifact, newest first
+    @EntityGraph(attributePaths = "user")
+    Window<Comment> findByUserArtifactArtifactIdAndParentIsNullOrderByCreatedAtDescCommentIdDesc(
+            String artifactId, ScrollPosition position, Limit limit);
+
+    // Keyset scrolling of the replies of a comment, oldest first
+    @EntityGraph(attributePaths = "user")
+    Window<Comment> findByParentCommentIdOrderByCreatedAtAscCommentIdAsc(
+            Integer parentId, ScrollPosition position, Limit limit);
+
+    // IDs of the first :perParent replies of each parent (oldest first); the per-parent limit
+    // is a window function, so this one is native
+    @Query(value = "SELECT ranked.comment_id FROM (" +
+                   "SELECT c.comment_id, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at, c.comment_id) AS rn " +
+                   "FROM comment_tbl c WHERE c.parent_id IN :parentIds) ranked " +
+                   "WHERE ranked.rn <= :perParent",
+           nativeQuery = true)
+    List<Integer> findFirstReplyIds(@Param("parentIds") Collection<Integer> parentIds, @Param("perParent") int perParent);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.commentId IN :commentIds ORDER BY c.createdAt ASC, c.commentId ASC")
+    List<Comment> findWithUserByCommentIdIn(@Param("commentIds") Collection<Integer> commentIds);
+
+    @Query("SELECT c.reactionCount FROM Comment c WHERE c.commentId = :commentId")
+    Optional<Integer> findReactionCount(@Param("commentId") Integer commentId);
+
+    // [parentId, replyCount] rows; comments without replies have no row
+    @Query("SELECT c.parent.commentId, COUNT(c) FROM Comment c WHERE c.parent.commentId IN :parentIds GROUP BY c.parent.commentId")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Integer> parentIds);
     
     
     @Query("SELECT c FROM Comment c " +
@@ -46,11 +84,4 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
     @Query("DELETE FROM Comment c WHERE c.userArtifact.userArtifactId IN :userArtifactIds")
     void deleteByUserArtifactIds(@Param("userArtifactIds") List<Integer> userArtifactIds);
 
-    @Modifying
-    @Transactional
-    @Query(value = "DELETE FROM comment_reactions WHERE comment_id IN (" +
-                   "SELECT c.comment_id FROM comment_tbl c WHERE c.user_artifact_id IN :userArtifactIds)", 
-           nativeQuery = true)
-    void deleteReactionsByUserArtifactIds(@Param("userArtifactIds") List<Integer> userArtifactIds);
-
 }
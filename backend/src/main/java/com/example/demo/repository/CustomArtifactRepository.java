@@ -1,13 +1,27 @@
 package com.example.demo.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.example.demo.dto.ArtifactClusterDTO;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FacetedSearchResult;
+import com.example.demo.dto.MatchMode;
 import com.example.demo.entity.Artifact;
 
 public interface CustomArtifactRepository {
+    /**
+     * Filtered search. {@code matchModes} says per search parameter name how its value
+     * is compared (see {@link MatchMode}); parameters not in it match as {@code contains}.
+     * {@code yearFrom}/{@code yearTo} keep artifacts whose derived year range overlaps them.
+     * Like every listing below, results only carry the card fields (see {@link #findCardsByIds}).
+     */
     Page<Artifact> searchArtifacts(
             String anyField,
             String title,
@@ -20,16 +34,135 @@ public interface CustomArtifactRepository {
             String tags,
             LocalDate fromDate,
             LocalDate toDate,
+            Integer yearFrom,
+            Integer yearTo,
             String locationQuery,
             Double latitude,
             Double longitude,
             Double radius,
             String city,
             String country,
+            Map<String, MatchMode> matchModes,
             String sortBy,
             Pageable pageable
     );
     
+    FacetedSearchResult<Artifact> facetedSearch(
+            String anyField,
+            String title,
+            String category,
+            String culture,
+            String department,
+            String period,
+            String medium,
+            String artistName,
+            String tags,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer yearFrom,
+            Integer yearTo,
+            String locationQuery,
+            Double latitude,
+            Double longitude,
+            Double radius,
+            String city,
+            String country,
+            Map<String, MatchMode> matchModes,
+            String sortBy,
+            Pageable pageable,
+            int facetSize
+    );
+
     Page<Artifact> globalSearch(String search, Pageable pageable);
 
+    /** The card fields (see ArtifactCardDTO) of the given artifacts, in no particular order. */
+    List<Artifact> findCardsByIds(Collection<String> artifactIds);
+
+    /** IDs of the artifacts whose title contains {@code needle}, ignoring case; only _id is read. */
+    List<String> findIdsByTitleContaining(String needle);
+
+    /**
+     * Keyset-paginated {@link #searchArtifacts}: the page after {@code cursor} (null for
+     * the first) in (sort key, _id) order. Relevance and distance orders have no stable
+     * key, so "best_match" and "nearest" list newest first and radius only filters.
+     *
+     * @throws IllegalArgumentException when the cursor is malformed or from another sort
+     */
+    CursorPage<Artifact> scrollArtifacts(
+            String anyField,
+            String title,
+            String category,
+            String culture,
+            String department,
+            String period,
+            String medium,
+            String artistName,
+            String tags,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer yearFrom,
+            Integer yearTo,
+            String locationQuery,
+            Double latitude,
+            Double longitude,
+            Double radius,
+            String city,
+            String country,
+            Map<String, MatchMode> matchModes,
+            String sortBy,
+            String cursor,
+            int size,
+            CursorPage.Count count
+    );
+
+    /**
+     * Every match of {@link #searchArtifacts}, read through one Mongo cursor for export.
+     * Keywords use the text index when it finds anything (as search does), "nearest"
+     * orders by distance; documents carry the export fields, not image data. The
+     * stream holds the cursor open and must be closed.
+     */
+    Stream<Artifact> streamArtifacts(
+            String anyField,
+            String title,
+            String category,
+            String culture,
+            String department,
+            String period,
+            String medium,
+            String artistName,
+            String tags,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer yearFrom,
+            Integer yearTo,
+            String locationQuery,
+            Double latitude,
+            Double longitude,
+            Double radius,
+            String city,
+            String country,
+            Map<String, MatchMode> matchModes,
+            String sortBy
+    );
+
+    /** Keyset page of the given artifacts, most recently updated first, optionally by title substring. */
+    CursorPage<Artifact> scrollArtifactsByIds(Collection<String> artifactIds, String titleSearch,
+                                              String cursor, int size, CursorPage.Count count);
+
+    /**
+     * Keyset page over all artifacts, newest first. {@code reviewStatus}, when not null, keeps
+     * artifacts whose latest submission has that status ({@link #NOT_SUBMITTED}: none at all);
+     * {@code search} is a plain substring, not a pattern.
+     */
+    CursorPage<Artifact> scrollAllArtifacts(String reviewStatus, String search,
+                                            String cursor, int size, CursorPage.Count count);
+
+    /** Offset-paginated {@link #scrollAllArtifacts}, newest first; {@link Pageable#unpaged()} returns everything. */
+    Page<Artifact> findAllArtifacts(String reviewStatus, String search, Pageable pageable);
+
+    /** Review status filter value for artifacts that were never submitted. */
+    String NOT_SUBMITTED = "not_submitted";
+
+    List<ArtifactClusterDTO> findClusters(double west, double south, double east, double north, int zoom);
+
 }
@@ -2,92 +2,249 @@ package com.example.demo.repository;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import org.bson.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.util.StringUtils;
 
-import com.example.demo.entity.ApplicationStatus;
+import com.example.demo.dto.ArtifactClusterDTO;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FacetedSearchResult;
+import com.example.demo.dto.MatchMode;
 import com.example.demo.entity.Artifact;
-import com.example.demo.entity.UserArtifact;
+import com.example.demo.entity.ArtifactVisibility;
+import com.example.demo.util.GeoHash;
+import com.example.demo.util.PageCursor;
 
 public class CustomArtifactRepositoryImpl implements CustomArtifactRepository {
 
+    // Secondary strength compares base letters and accents but ignores case
+    private static final Collation TITLE_COLLATION =
+            Collation.of(Locale.ENGLISH).strength(Collation.ComparisonLevel.secondary());
+
+    // Fields scanned by the substring fallback when the text index has no match
+    private static final List<String> ANY_FIELD_REGEX_FIELDS =
+            List.of("title", "description", "culture", "department", "period", "medium", "artist_name");
+    private static final List<String> GLOBAL_REGEX_FIELDS =
+            List.of("title", "description", "culture", "department", "period", "medium", "artist_name", "tags");
+
+    /**
+     * Fields read for list and search results: what ArtifactCardDTO shows plus the keyset
+     * sort keys. Image URLs only, never image data or descriptions.
+     */
+    private static final String[] CARD_FIELDS = { "title", "image_url", "images.baseimageurl", "category", "culture",
+            "period", "medium", "artist_name", "location.city", "location.country", "location.continent", "location.latitude",
+            "location.longitude", "yearFrom", "yearTo", "averageRating", "totalRatings", "uploaded_by", "uploaded_at",
+            "updated_at" };
+
+    // Search parameter -> document field, for the filters that take a MatchMode
+    private static final Map<String, String> MATCH_FIELDS = Map.of(
+            "title", "title", "category", "category", "culture", "culture", "department", "department",
+            "period", "period", "medium", "medium", "artistName", "artist_name", "tags", "tags",
+            "city", "location.city", "country", "location.country");
+    private static final List<String> LOCATION_QUERY_FIELDS =
+            List.of("location.placename", "location.city", "location.country");
+
+    // Fields written by the export: everything but image data and the derived geo fields
+    private static final String[] EXPORT_FIELDS = { "title", "description", "category", "culture", "department",
+            "period", "exact_found_date", "yearFrom", "yearTo", "medium", "dimension", "tags", "artist_name",
+            "image_url", "images.baseimageurl", "location.placename", "location.city", "location.region", "location.country",
+            "location.continent", "location.latitude", "location.longitude", "uploaded_by", "uploaded_at", "updated_at" };
+
+    // Documents fetched per cursor round trip while exporting
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    // Mean earth radius used by MongoDB for spherical geometry
+    private static final double EARTH_RADIUS_KM = 6378.1;
+
+    // Fields counted per value by facetedSearch
+    private static final List<String> FACET_FIELDS = List.of("category", "culture", "period", "department");
+
+    // Upper bound on clusters per response, whatever the zoom or number of artifacts in view
+    private static final int MAX_CLUSTERS = 256;
+
     private final MongoTemplate mongoTemplate;
-    private final UserArtifactRepository userArtifactRepository;
-    private final RatingRepository ratingRepository;
 
-    public CustomArtifactRepositoryImpl(MongoTemplate mongoTemplate, UserArtifactRepository userArtifactRepository, RatingRepository ratingRepository) {
+    public CustomArtifactRepositoryImpl(MongoTemplate mongoTemplate) {
         this.mongoTemplate = mongoTemplate;
-        this.userArtifactRepository = userArtifactRepository;
-        this.ratingRepository = ratingRepository;
+    }
+
+    private static Criteria visibleOnly() {
+        return Criteria.where("visibility").is(ArtifactVisibility.visible);
     }
 
     @Override
     public Page<Artifact> searchArtifacts(String anyField, String title, String category, String culture,
                                           String department, String period, String medium, String artistName,
                                           String tags, LocalDate fromDate, LocalDate toDate,
+                                          Integer yearFrom, Integer yearTo,
                                           String locationQuery, Double latitude, Double longitude, Double radius,
-                                          String city, String country, String sortBy, Pageable pageable) {
-        Query query = new Query().with(pageable);
-        List<Criteria> specificFieldCriteria = new ArrayList<>();
-        
-        // Get curator artifacts that are pending or rejected and should be excluded
-        List<UserArtifact> pendingArtifacts = userArtifactRepository.findByStatus(ApplicationStatus.pending);
-        List<UserArtifact> rejectedArtifacts = userArtifactRepository.findByStatus(ApplicationStatus.rejected);
-        
-        List<String> pendingOrRejectedArtifactIds = new ArrayList<>();
-        pendingArtifacts.forEach(ua -> pendingOrRejectedArtifactIds.add(ua.getArtifactId()));
-        rejectedArtifacts.forEach(ua -> pendingOrRejectedArtifactIds.add(ua.getArtifactId()));
-        
-        System.out.println("🚫 Excluding " + pendingOrRejectedArtifactIds.size() + " pending/rejected curator artifacts from search");
-        if (!pendingOrRejectedArtifactIds.isEmpty()) {
-            System.out.println("Excluded artifact IDs: " + pendingOrRejectedArtifactIds);
-            System.out.println("🔴 CRITICAL: Using _id field (not id) to exclude artifacts from MongoDB");
-        } else {
-            System.out.println("✅ No pending/rejected artifacts found - all artifacts will be shown");
-        }
-        
-        // Create status filter criteria (separate from search criteria)
-        Criteria statusFilterCriteria = null;
-        if (!pendingOrRejectedArtifactIds.isEmpty()) {
-            statusFilterCriteria = Criteria.where("_id").nin(pendingOrRejectedArtifactIds);
-        }
+                                          String city, String country, Map<String, MatchMode> matchModes,
+                                          String sortBy, Pageable pageable) {
+        Filter filter = buildFilter(title, category, culture, department, period, medium, artistName,
+                tags, fromDate, toDate, yearFrom, yearTo, locationQuery, city, country, matchModes, sortBy);
+        Criteria filterCriteria = filter.criteria();
 
-        if (StringUtils.hasText(title)) {
-            specificFieldCriteria.add(Criteria.where("title").regex(title, "i"));
-        }
-        if (StringUtils.hasText(category)) {
-            specificFieldCriteria.add(Criteria.where("category").regex(category, "i")); // fixed
+        // Geographic proximity search (within radius km, or everything located when sorting nearest first)
+        if (latitude != null && longitude != null && (radius != null || isNearest(sortBy))) {
+            // $geoNear can't be combined with $text, so keywords use the substring match here
+            if (StringUtils.hasText(anyField)) {
+                filterCriteria = new Criteria().andOperator(filterCriteria, keywordRegex(anyField, ANY_FIELD_REGEX_FIELDS));
+            }
+            return findNearby(filterCriteria, filter.collated(), longitude, latitude, radius, sortBy, pageable);
         }
-        if (StringUtils.hasText(culture)) {
-            specificFieldCriteria.add(Criteria.where("culture").regex(culture, "i"));
+
+        if (StringUtils.hasText(anyField)) {
+            // Ranked $text search first; only fall back to the regex scan when it finds nothing,
+            // e.g. a partial word typed so far
+            if (supportsTextSearch(sortBy) && !filter.collated()) {
+                Page<Artifact> textPage = findTextMatches(anyField, filterCriteria, sortBy, pageable);
+                if (textPage != null) {
+                    return textPage;
+                }
+            }
+            filterCriteria = new Criteria().andOperator(filterCriteria, keywordRegex(anyField, ANY_FIELD_REGEX_FIELDS));
         }
-        if (StringUtils.hasText(department)) {
-            specificFieldCriteria.add(Criteria.where("department").regex(department, "i"));
+
+        // Paging and sorting are applied after the filter is built (see applySorting)
+        Query query = new Query(filterCriteria);
+        if (filter.collated()) {
+            query.collation(TITLE_COLLATION);
         }
-        if (StringUtils.hasText(period)) {
-            specificFieldCriteria.add(Criteria.where("period").regex(period, "i"));
+
+        // Count on the bare filter, then let Mongo sort and slice the page so only
+        // pageSize documents are ever materialized per request
+        long totalCount = mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Artifact.class);
+
+        applySorting(query, sortBy);
+        query.with(pageable.getSort());
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+
+        query.fields().include(CARD_FIELDS);
+        List<Artifact> pageContent = mongoTemplate.find(query, Artifact.class);
+        return new PageImpl<>(pageContent, pageable, totalCount);
+    }
+
+    @Override
+    public Stream<Artifact> streamArtifacts(String anyField, String title, String category, String culture,
+                                            String department, String period, String medium, String artistName,
+                                            String tags, LocalDate fromDate, LocalDate toDate,
+                                            Integer yearFrom, Integer yearTo,
+                                            String locationQuery, Double latitude, Double longitude, Double radius,
+                                            String city, String country, Map<String, MatchMode> matchModes,
+                                            String sortBy) {
+        Filter filter = buildFilter(title, category, culture, department, period, medium, artistName,
+                tags, fromDate, toDate, yearFrom, yearTo, locationQuery, city, country, matchModes, sortBy);
+        Criteria filterCriteria = filter.criteria();
+        boolean proximity = latitude != null && longitude != null && (radius != null || isNearest(sortBy));
+
+        Query query = null;
+        if (StringUtils.hasText(anyField)) {
+            // Same choice as searchArtifacts: the text index when it matches, else the substring scan
+            if (!proximity && supportsTextSearch(sortBy) && !filter.collated()) {
+                TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(anyField));
+                textQuery.addCriteria(filterCriteria);
+                if (mongoTemplate.exists(textQuery, Artifact.class)) {
+                    if (isBestMatch(sortBy)) {
+                        textQuery.sortByScore();
+                    }
+                    query = textQuery;
+                }
+            }
+            if (query == null) {
+                filterCriteria = new Criteria().andOperator(filterCriteria, keywordRegex(anyField, ANY_FIELD_REGEX_FIELDS));
+            }
         }
-        if (StringUtils.hasText(medium)) {
-            specificFieldCriteria.add(Criteria.where("medium").regex(medium, "i"));
+
+        if (proximity && isNearest(sortBy)) {
+            // $nearSphere returns nearest first by itself and takes no other sort
+            Criteria near = Criteria.where("location.point").nearSphere(new GeoJsonPoint(longitude, latitude));
+            if (radius != null) {
+                near.maxDistance(radius * 1000);
+            }
+            query = new Query(new Criteria().andOperator(filterCriteria, near));
+        } else {
+            if (proximity) {
+                filterCriteria = new Criteria().andOperator(filterCriteria, Criteria.where("location.point")
+                        .withinSphere(new Circle(longitude, latitude, radius / EARTH_RADIUS_KM)));
+            }
+            if (query == null) {
+                query = new Query(filterCriteria);
+            }
+            applySorting(query, sortBy);
         }
-        if (StringUtils.hasText(artistName)) {
-            specificFieldCriteria.add(Criteria.where("artist_name").regex(artistName, "i"));
+        if (filter.collated()) {
+            query.collation(TITLE_COLLATION);
         }
-        if (StringUtils.hasText(tags)) {
-            specificFieldCriteria.add(Criteria.where("tags").regex(tags, "i"));
+
+        query.fields().include(EXPORT_FIELDS);
+        query.cursorBatchSize(EXPORT_BATCH_SIZE);
+        return mongoTemplate.stream(query, Artifact.class);
+    }
+
+    /** A search filter, and whether it compares under {@link #TITLE_COLLATION} (some field is {@code iexact}). */
+    private record Filter(Criteria criteria, boolean collated) {}
+
+    /**
+     * Everything except the keyword and proximity: visibility plus the specific field filters,
+     * and for the date sorts only artifacts that have a derived year range.
+     */
+    private static Filter buildFilter(String title, String category, String culture, String department,
+                                      String period, String medium, String artistName, String tags,
+                                      LocalDate fromDate, LocalDate toDate, Integer yearFrom, Integer yearTo,
+                                      String locationQuery, String city, String country, Map<String, MatchMode> matchModes,
+                                      String sortBy) {
+        List<Criteria> specificFieldCriteria = new ArrayList<>();
+        
+        // Pending/rejected curator artifacts carry visibility=hidden (see ArtifactVisibilityService)
+        Criteria statusFilterCriteria = visibleOnly();
+
+        // Search parameter -> value, for the filters that take a match mode (see MATCH_FIELDS)
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("title", title);
+        values.put("category", category);
+        values.put("culture", culture);
+        values.put("department", department);
+        values.put("period", period);
+        values.put("medium", medium);
+        values.put("artistName", artistName);
+        values.put("tags", tags);
+        values.put("city", city);
+        values.put("country", country);
+
+        boolean collated = false;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!StringUtils.hasText(entry.getValue())) continue;
+            MatchMode mode = matchModes == null ? MatchMode.contains
+                    : matchModes.getOrDefault(entry.getKey(), MatchMode.contains);
+            specificFieldCriteria.add(fieldMatch(MATCH_FIELDS.get(entry.getKey()), entry.getValue(), mode));
+            collated |= mode == MatchMode.iexact;
         }
+
         if (fromDate != null && toDate != null) {
             specificFieldCriteria.add(Criteria.where("exact_found_date").gte(fromDate).lte(toDate));
         } else if (fromDate != null) {
@@ -95,201 +252,353 @@ public class CustomArtifactRepositoryImpl implements CustomArtifactRepository {
         } else if (toDate != null) {
             specificFieldCriteria.add(Criteria.where("exact_found_date").lte(toDate));
         }
+
+        // Year range overlap: the artifact's [yearFrom, yearTo] touches the requested one;
+        // artifacts without a derived range never match
+        if (yearTo != null) {
+            specificFieldCriteria.add(Criteria.where("yearFrom").lte(yearTo));
+        }
+        if (yearFrom != null) {
+            specificFieldCriteria.add(Criteria.where("yearTo").gte(yearFrom));
+        }
+        // Missing years sort before every year ascending, so undated artifacts would lead "oldest first"
+        if (isDateSort(sortBy) && yearFrom == null && yearTo == null) {
+            specificFieldCriteria.add(Criteria.where("yearFrom").ne(null));
+        }
         
         // Location filtering
         if (StringUtils.hasText(locationQuery)) {
             // Search by location name/placename
-            specificFieldCriteria.add(
-                new Criteria().orOperator(
-                    Criteria.where("location.placename").regex(locationQuery, "i"),
-                    Criteria.where("location.city").regex(locationQuery, "i"),
-                    Criteria.where("location.country").regex(locationQuery, "i")
-                )
-            );
+            specificFieldCriteria.add(keywordRegex(locationQuery, LOCATION_QUERY_FIELDS));
         }
         
-        if (StringUtils.hasText(city)) {
-            specificFieldCriteria.add(Criteria.where("location.city").regex(city, "i"));
+        specificFieldCriteria.add(0, statusFilterCriteria);
+        return new Filter(new Criteria().andOperator(specificFieldCriteria.toArray(new Criteria[0])), collated);
+    }
+
+    // The value is matched literally: exact/iexact equality and the anchored prefix can use an index
+    private static Criteria fieldMatch(String field, String value, MatchMode mode) {
+        return switch (mode) {
+            case exact, iexact -> Criteria.where(field).is(value);
+            case prefix -> Criteria.where(field).regex("^" + Pattern.quote(value));
+            case contains -> Criteria.where(field).regex(Pattern.quote(value), "i");
+        };
+    }
+
+    /**
+     * Runs the keyword against the weighted text index (see @TextIndexed on Artifact).
+     * Returns null when nothing matches so the caller can fall back to substring search.
+     */
+    private Page<Artifact> findTextMatches(String keywords, Criteria filterCriteria, String sortBy, Pageable pageable) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(keywords));
+        query.addCriteria(filterCriteria);
+
+        long totalCount = mongoTemplate.count(query, Artifact.class);
+        if (totalCount == 0) {
+            return null;
         }
-        
-        if (StringUtils.hasText(country)) {
-            specificFieldCriteria.add(Criteria.where("location.country").regex(country, "i"));
+
+        if (isBestMatch(sortBy)) {
+            query.sortByScore();
+        } else {
+            applySorting(query, sortBy);
         }
-        
-        // Geographic proximity search
-        if (latitude != null && longitude != null && radius != null) {
-            // Convert radius from km to degrees (approximation: 1 degree ≈ 111km)
-            double radiusInDegrees = radius / 111.0;
-            specificFieldCriteria.add(
-                Criteria.where("location.latitude").gte(latitude - radiusInDegrees).lte(latitude + radiusInDegrees)
-            );
-            specificFieldCriteria.add(
-                Criteria.where("location.longitude").gte(longitude - radiusInDegrees).lte(longitude + radiusInDegrees)
-            );
+        query.with(pageable.getSort());
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+
+        query.fields().include(CARD_FIELDS);
+        List<Artifact> pageContent = mongoTemplate.find(query, Artifact.class);
+        return new PageImpl<>(pageContent, pageable, totalCount);
+    }
+
+    /**
+     * Proximity search on the 2dsphere index over location.point. Hits come back
+     * nearest first with their distance in km unless another sort was requested.
+     */
+    private Page<Artifact> findNearby(Criteria filterCriteria, boolean collated, double longitude, double latitude,
+                                      Double radiusKm, String sortBy, Pageable pageable) {
+        // $geoNear can't be counted, so the total uses the equivalent $geoWithin sphere (radius in radians)
+        Criteria located = radiusKm != null
+            ? Criteria.where("location.point").withinSphere(new Circle(longitude, latitude, radiusKm / EARTH_RADIUS_KM))
+            : Criteria.where("location.point").exists(true);
+        Query countQuery = Query.query(new Criteria().andOperator(filterCriteria, located));
+        if (collated) {
+            countQuery.collation(TITLE_COLLATION);
+        }
+        long totalCount = mongoTemplate.count(countQuery, Artifact.class);
+        if (totalCount == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
         }
 
-        Criteria combinedCriteria = new Criteria();
-        if (StringUtils.hasText(anyField)) {
-            Criteria keywordSearch = new Criteria().orOperator(
-                Criteria.where("title").regex(anyField, "i"),
-                Criteria.where("description").regex(anyField, "i"),
-                Criteria.where("culture").regex(anyField, "i"),
-                Criteria.where("department").regex(anyField, "i"),
-                Criteria.where("period").regex(anyField, "i"),
-                Criteria.where("medium").regex(anyField, "i"),
-                Criteria.where("artist_name").regex(anyField, "i")
-            );
-
-            if (!specificFieldCriteria.isEmpty()) {
-                combinedCriteria.andOperator(
-                        new Criteria().andOperator(specificFieldCriteria.toArray(new Criteria[0])),
-                        keywordSearch
-                );
-            } else {
-                combinedCriteria = keywordSearch;
-            }
-        } else if (!specificFieldCriteria.isEmpty()) {
-            combinedCriteria.andOperator(specificFieldCriteria.toArray(new Criteria[0]));
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(geoNear(filterCriteria, longitude, latitude, radiusKm));
+
+        Sort sort = sortFor(sortBy).and(pageable.getSort());
+        if (sort.isSorted()) {
+            operations.add(Aggregation.sort(sort));
         }
+        operations.add(Aggregation.skip(pageable.getOffset()));
+        operations.add(Aggregation.limit(pageable.getPageSize()));
+        operations.add(cardProjection());
 
-        // Apply search criteria if any
-        if (!combinedCriteria.getCriteriaObject().isEmpty()) {
-            if (statusFilterCriteria != null) {
-                // Combine search criteria with status filter
-                query.addCriteria(new Criteria().andOperator(combinedCriteria, statusFilterCriteria));
-            } else {
-                query.addCriteria(combinedCriteria);
+        AggregationOptions.Builder options = AggregationOptions.builder();
+        if (isTitleSort(sortBy) || collated) {
+            options.collation(TITLE_COLLATION);
+        }
+
+        List<Artifact> pageContent = mongoTemplate.aggregate(
+            Aggregation.newAggregation(Artifact.class, operations).withOptions(options.build()),
+            Artifact.class
+        ).getMappedResults();
+        return new PageImpl<>(pageContent, pageable, totalCount);
+    }
+
+    // Must be the first pipeline stage; adds each hit's distance in km
+    private static AggregationOperation geoNear(Criteria filterCriteria, double longitude, double latitude, Double radiusKm) {
+        return context -> {
+            Document near = new Document("type", "Point").append("coordinates", List.of(longitude, latitude));
+            Document geoNear = new Document("near", near)
+                .append("key", "location.point")
+                .append("distanceField", "distance")
+                .append("distanceMultiplier", 0.001) // metres to km
+                .append("spherical", true)
+                .append("query", context.getMappedObject(Query.query(filterCriteria).getQueryObject()));
+            if (radiusKm != null) {
+                geoNear.append("maxDistance", radiusKm * 1000);
+            }
+            return new Document("$geoNear", geoNear);
+        };
+    }
+
+    @Override
+    public FacetedSearchResult<Artifact> facetedSearch(String anyField, String title, String category, String culture,
+                                                       String department, String period, String medium,
+                                                       String artistName, String tags, LocalDate fromDate,
+                                                       LocalDate toDate, Integer yearFrom, Integer yearTo,
+                                                       String locationQuery, Double latitude, Double longitude,
+                                                       Double radius, String city, String country,
+                                                       Map<String, MatchMode> matchModes, String sortBy,
+                                                       Pageable pageable, int facetSize) {
+        Filter filter = buildFilter(title, category, culture, department, period, medium, artistName,
+                tags, fromDate, toDate, yearFrom, yearTo, locationQuery, city, country, matchModes, sortBy);
+        Criteria filterCriteria = filter.criteria();
+        boolean nearby = latitude != null && longitude != null && (radius != null || isNearest(sortBy));
+
+        // Same keyword strategy as searchArtifacts: ranked $text first, substring scan when it finds nothing
+        if (StringUtils.hasText(anyField) && !nearby && supportsTextSearch(sortBy) && !filter.collated()) {
+            TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(anyField));
+            textQuery.addCriteria(filterCriteria);
+
+            List<AggregationOperation> head = new ArrayList<>();
+            head.add(context -> new Document("$match", context.getMappedObject(textQuery.getQueryObject())));
+            Sort sort = sortFor(sortBy).and(pageable.getSort());
+            if (isBestMatch(sortBy)) {
+                head.add(context -> new Document("$addFields", new Document("score", new Document("$meta", "textScore"))));
+                sort = Sort.by(Sort.Order.desc("score")).and(pageable.getSort());
+            }
+
+            FacetedSearchResult<Artifact> textResult = runFacets(head, sort, false, pageable, facetSize);
+            if (textResult.page().getTotalElements() > 0) {
+                return textResult;
             }
-        } else if (statusFilterCriteria != null) {
-            // Only apply status filter if no search criteria
-            query.addCriteria(statusFilterCriteria);
         }
 
-        // Get all artifacts first without pagination for sorting
-        Query countQuery = Query.of(query).limit(-1).skip(-1);
-        long totalCount = mongoTemplate.count(countQuery, Artifact.class);
-        
-        // Get all artifacts for sorting (we'll paginate after sorting)
-        Query allQuery = Query.of(query).limit(-1).skip(-1);
-        List<Artifact> allArtifacts = mongoTemplate.find(allQuery, Artifact.class);
-        
-        // Apply sorting if specified
-        List<Artifact> sortedArtifacts = applySorting(allArtifacts, sortBy);
-        
-        // Manual pagination after sorting
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), sortedArtifacts.size());
-        List<Artifact> paginatedArtifacts = start >= sortedArtifacts.size() ? 
-            new ArrayList<>() : 
-            sortedArtifacts.subList(start, end);
-            
-        return new PageImpl<>(paginatedArtifacts, pageable, totalCount);
+        if (StringUtils.hasText(anyField)) {
+            filterCriteria = new Criteria().andOperator(filterCriteria, keywordRegex(anyField, ANY_FIELD_REGEX_FIELDS));
+        }
+
+        List<AggregationOperation> head = new ArrayList<>();
+        head.add(nearby
+                ? geoNear(filterCriteria, longitude, latitude, radius)
+                : Aggregation.match(filterCriteria));
+        return runFacets(head, sortFor(sortBy).and(pageable.getSort()), isTitleSort(sortBy) || filter.collated(),
+                pageable, facetSize);
     }
-    
-    private List<Artifact> applySorting(List<Artifact> artifacts, String sortBy) {
-        if (sortBy == null || sortBy.isEmpty() || "best_match".equals(sortBy)) {
+
+    /**
+     * One round trip for the page, the total and the top {@code facetSize} values of
+     * each facet field among the matches: everything after the filter stages runs as
+     * parallel sub-pipelines of a single $facet.
+     */
+    private FacetedSearchResult<Artifact> runFacets(List<AggregationOperation> head, Sort sort, boolean titleCollation,
+                                                    Pageable pageable, int facetSize) {
+        List<AggregationOperation> results = new ArrayList<>();
+        if (sort.isSorted()) {
+            // Raw keys: the computed score isn't an Artifact property the typed context could map
+            Document sortDocument = new Document();
+            sort.forEach(order -> sortDocument.append(
+                    "id".equals(order.getProperty()) ? "_id" : order.getProperty(), order.isAscending() ? 1 : -1));
+            results.add(context -> new Document("$sort", sortDocument));
+        }
+        results.add(Aggregation.skip(pageable.getOffset()));
+        results.add(Aggregation.limit(pageable.getPageSize()));
+        results.add(cardProjection());
+
+        FacetOperation facets = Aggregation.facet(results.toArray(AggregationOperation[]::new)).as("results")
+                .and(Aggregation.count().as("count")).as("total");
+        for (String field : FACET_FIELDS) {
+            facets = facets.and(
+                    Aggregation.match(Criteria.where(field).nin(null, "")),
+                    Aggregation.group(field).count().as("count"),
+                    Aggregation.sort(Sort.by(Sort.Order.desc("count"), Sort.Order.asc("_id"))),
+                    Aggregation.limit(facetSize)
+            ).as(field);
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>(head);
+        operations.add(facets);
+
+        AggregationOptions.Builder options = AggregationOptions.builder();
+        if (titleCollation) {
+            options.collation(TITLE_COLLATION);
+        }
+
+        TypedAggregation<Artifact> aggregation =
+            Aggregation.newAggregation(Artifact.class, operations).withOptions(options.build());
+        Document output = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+
+        List<Artifact> content = new ArrayList<>();
+        for (Document document : output.getList("results", Document.class)) {
+            content.add(mongoTemplate.getConverter().read(Artifact.class, document));
+        }
+        List<Document> total = output.getList("total", Document.class);
+        long totalCount = total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue();
+
+        Map<String, List<FacetedSearchResult.FacetCount>> facetCounts = new LinkedHashMap<>();
+        for (String field : FACET_FIELDS) {
+            facetCounts.put(field, output.getList(field, Document.class).stream()
+                    .map(bucket -> new FacetedSearchResult.FacetCount(
+                            String.valueOf(bucket.get("_id")), bucket.get("count", Number.class).longValue()))
+                    .toList());
+        }
+
+        return new FacetedSearchResult<>(new PageImpl<>(content, pageable, totalCount), facetCounts);
+    }
+
+    // CARD_FIELDS as a pipeline stage; keeps the distance added by $geoNear
+    private static AggregationOperation cardProjection() {
+        Document fields = new Document("distance", 1);
+        for (String field : CARD_FIELDS) {
+            fields.append(field, 1);
+        }
+        return context -> new Document("$project", fields);
+    }
+
+    // Case-insensitive substring of the literal keyword in any of the fields
+    private static Criteria keywordRegex(String keyword, List<String> fields) {
+        String pattern = Pattern.quote(keyword);
+        return new Criteria().orOperator(
+            fields.stream().map(field -> Criteria.where(field).regex(pattern, "i")).toArray(Criteria[]::new)
+        );
+    }
+
+    private static boolean isBestMatch(String sortBy) {
+        return sortBy == null || sortBy.isEmpty() || "best_match".equals(sortBy);
+    }
+
+    private static boolean isNearest(String sortBy) {
+        return "nearest".equalsIgnoreCase(sortBy);
+    }
+
+    private static boolean isTitleSort(String sortBy) {
+        return "ascending".equalsIgnoreCase(sortBy) || "descending".equalsIgnoreCase(sortBy);
+    }
+
+    private static boolean isDateSort(String sortBy) {
+        return "oldest_first".equalsIgnoreCase(sortBy) || "newest_first".equalsIgnoreCase(sortBy);
+    }
+
+    // Title sorts need a collation, which text index queries can't use
+    private static boolean supportsTextSearch(String sortBy) {
+        return !isTitleSort(sortBy);
+    }
+
+    private void applySorting(Query query, String sortBy) {
+        Sort sort = sortFor(sortBy);
+        if (sort.isSorted()) {
+            query.with(sort);
+        }
+        if (isTitleSort(sortBy)) {
+            // Case-insensitive title order
+            query.collation(TITLE_COLLATION);
+        }
+    }
+
+    private static Sort sortFor(String sortBy) {
+        if (isBestMatch(sortBy)) {
             // Default order - no additional sorting needed
-            return artifacts;
+            return Sort.unsorted();
         }
-        
+
         switch (sortBy.toLowerCase()) {
             case "ascending":
-                return artifacts.stream()
-                    .sorted(Comparator.comparing(artifact -> 
-                        artifact.getTitle() != null ? artifact.getTitle().toLowerCase() : ""))
-                    .collect(Collectors.toList());
-                    
+                // _id keeps pages stable for equal titles
+                return Sort.by(Sort.Order.asc("title"), Sort.Order.asc("_id"));
+
             case "descending":
-                return artifacts.stream()
-                    .sorted(Comparator.comparing((Artifact artifact) -> 
-                        artifact.getTitle() != null ? artifact.getTitle().toLowerCase() : "").reversed())
-                    .collect(Collectors.toList());
-                    
+                return Sort.by(Sort.Order.desc("title"), Sort.Order.asc("_id"));
+
             case "most_few": // Most favorite (highest rating first)
-                return sortByRating(artifacts, false);
-                
+                // averageRating is the denormalized summary RatingController writes on every rate/unrate;
+                // unrated artifacts have no value and sort after every rated one
+                return Sort.by(Sort.Order.desc("averageRating"), Sort.Order.asc("_id"));
+
             case "least_few": // Least favorite (lowest rating first)
-                return sortByRating(artifacts, true);
-                
+                return Sort.by(Sort.Order.asc("averageRating"), Sort.Order.asc("_id"));
+
+            case "oldest_first": // By start year; undated artifacts are filtered out (see buildFilter)
+                return Sort.by(Sort.Order.asc("yearFrom"), Sort.Order.asc("_id"));
+
+            case "newest_first": // By end year; likewise dated artifacts only
+                return Sort.by(Sort.Order.desc("yearTo"), Sort.Order.asc("_id"));
+
+            case "nearest":
+                // Distance order comes from $geoNear itself (see findNearby)
+                return Sort.unsorted();
+
             default:
                 System.out.println("⚠️ Unknown sort option: " + sortBy + ", using default order");
-                return artifacts;
+                return Sort.unsorted();
         }
     }
     
-    private List<Artifact> sortByRating(List<Artifact> artifacts, boolean ascending) {
-        // Get average ratings for all artifacts
-        Map<String, Double> ratingMap = new HashMap<>();
-        
-        for (Artifact artifact : artifacts) {
-            Double avgRating = ratingRepository.findAverageRatingByArtifactId(artifact.getId());
-            ratingMap.put(artifact.getId(), avgRating != null ? avgRating : 0.0);
-        }
-        
-        // Sort by rating
-        Comparator<Artifact> ratingComparator = Comparator.comparing(artifact -> 
-            ratingMap.getOrDefault(artifact.getId(), 0.0));
-            
-        if (!ascending) {
-            ratingComparator = ratingComparator.reversed();
-        }
-        
-        return artifacts.stream()
-            .sorted(ratingComparator)
-            .collect(Collectors.toList());
+    @Override
+    public List<Artifact> findCardsByIds(Collection<String> artifactIds) {
+        Query query = Query.query(Criteria.where("_id").in(artifactIds));
+        query.fields().include(CARD_FIELDS);
+        return mongoTemplate.find(query, Artifact.class);
     }
-    
+
+    @Override
+    public List<String> findIdsByTitleContaining(String needle) {
+        Query query = Query.query(Criteria.where("title").regex(Pattern.quote(needle), "i"));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Artifact.class)).stream()
+                .map(document -> document.getString("_id"))
+                .toList();
+    }
+
     @Override
     public Page<Artifact> globalSearch(String search, Pageable pageable) {
         Query query = new Query().with(pageable);
         
-        // Get curator artifacts that are pending or rejected and should be excluded
-        List<UserArtifact> pendingArtifacts = userArtifactRepository.findByStatus(ApplicationStatus.pending);
-        List<UserArtifact> rejectedArtifacts = userArtifactRepository.findByStatus(ApplicationStatus.rejected);
-        
-        List<String> pendingOrRejectedArtifactIds = new ArrayList<>();
-        pendingArtifacts.forEach(ua -> pendingOrRejectedArtifactIds.add(ua.getArtifactId()));
-        rejectedArtifacts.forEach(ua -> pendingOrRejectedArtifactIds.add(ua.getArtifactId()));
-        
-        System.out.println("🚫 Excluding " + pendingOrRejectedArtifactIds.size() + " pending/rejected curator artifacts from global search");
-        if (!pendingOrRejectedArtifactIds.isEmpty()) {
-            System.out.println("Excluded artifact IDs from global search: " + pendingOrRejectedArtifactIds);
-            System.out.println("🔴 CRITICAL: Using _id field (not id) to exclude artifacts from MongoDB in global search");
-        } else {
-            System.out.println("✅ No pending/rejected artifacts found - all artifacts will be shown in global search");
-        }
-        
-        // Create criteria to exclude pending/rejected curator artifacts
-        Criteria statusFilterCriteria = null;
-        if (!pendingOrRejectedArtifactIds.isEmpty()) {
-            statusFilterCriteria = Criteria.where("_id").nin(pendingOrRejectedArtifactIds);
-        }
+        // Pending/rejected curator artifacts carry visibility=hidden (see ArtifactVisibilityService)
+        Criteria statusFilterCriteria = visibleOnly();
 
         if (StringUtils.hasText(search)) {
-            Criteria searchCriteria = new Criteria().orOperator(
-                Criteria.where("title").regex(search, "i"),
-                Criteria.where("description").regex(search, "i"),
-                Criteria.where("culture").regex(search, "i"),
-                Criteria.where("department").regex(search, "i"),
-                Criteria.where("period").regex(search, "i"),
-                Criteria.where("medium").regex(search, "i"),
-                Criteria.where("artist_name").regex(search, "i"),
-                Criteria.where("tags").regex(search, "i")
-            );
-            
-            // Combine status filter with search criteria if needed
-            if (statusFilterCriteria != null) {
-                query.addCriteria(new Criteria().andOperator(statusFilterCriteria, searchCriteria));
-            } else {
-                query.addCriteria(searchCriteria);
+            Page<Artifact> textPage = findTextMatches(search, statusFilterCriteria, null, pageable);
+            if (textPage != null) {
+                return textPage;
             }
+
+            // Combine status filter with the substring fallback
+            query.addCriteria(new Criteria().andOperator(statusFilterCriteria, keywordRegex(search, GLOBAL_REGEX_FIELDS)));
         } else {
-            // Only status filter if no search query and filter exists
-            if (statusFilterCriteria != null) {
-                query.addCriteria(statusFilterCriteria);
-            }
+            // Only status filter if no search query
+            query.addCriteria(statusFilterCriteria);
         }
 
+        query.fields().include(CARD_FIELDS);
         List<Artifact> results = mongoTemplate.find(query, Artifact.class);
         return PageableExecutionUtils.getPage(
             results,
@@ -298,4 +607,297 @@ public class CustomArtifactRepositoryImpl implements CustomArtifactRepository {
         );
     }
 
+    /**
+     * Sort used by keyset pagination: one field plus _id as tie-breaker. The signature
+     * travels in the cursor so a cursor can't be replayed against another order.
+     */
+    private record KeysetSort(String field, boolean ascending, boolean titleCollation) {
+        String signature() {
+            return field + (ascending ? "+" : "-");
+        }
+    }
+
+    // ULID artifact IDs are time-ordered, so _id descending is newest first
+    private static final KeysetSort NEWEST_FIRST = new KeysetSort("_id", false, false);
+    private static final KeysetSort RECENTLY_UPDATED = new KeysetSort("updated_at", false, false);
+
+    // Estimated totals count at most this many matches
+    private static final int ESTIMATED_COUNT_CAP = 1000;
+
+    // Fields matched by the admin artworks search box
+    private static final List<String> ADMIN_SEARCH_FIELDS =
+            List.of("title", "description", "category", "culture", "uploaded_by");
+
+    private static KeysetSort keysetSortFor(String sortBy) {
+        if (sortBy == null) {
+            return NEWEST_FIRST;
+        }
+        switch (sortBy.toLowerCase()) {
+            case "ascending":
+                return new KeysetSort("title", true, true);
+            case "descending":
+                return new KeysetSort("title", false, true);
+            case "most_few":
+                return new KeysetSort("averageRating", false, false);
+            case "least_few":
+                return new KeysetSort("averageRating", true, false);
+            case "oldest_first":
+                return new KeysetSort("yearFrom", true, false);
+            case "newest_first":
+                return new KeysetSort("yearTo", false, false);
+            default:
+                // best_match and nearest have no stable key to continue from
+                return NEWEST_FIRST;
+        }
+    }
+
+    @Override
+    public CursorPage<Artifact> scrollArtifacts(String anyField, String title, String category, String culture,
+                                                String department, String period, String medium, String artistName,
+                                                String tags, LocalDate fromDate, LocalDate toDate,
+                                                Integer yearFrom, Integer yearTo,
+                                                String locationQuery, Double latitude, Double longitude, Double radius,
+                                                String city, String country, Map<String, MatchMode> matchModes,
+                                                String sortBy, String cursor, int size, CursorPage.Count count) {
+        Document after = cursor == null ? null : PageCursor.decode(cursor);
+
+        Filter filter = buildFilter(title, category, culture, department, period, medium, artistName,
+                tags, fromDate, toDate, yearFrom, yearTo, locationQuery, city, country, matchModes, sortBy);
+        Criteria filterCriteria = filter.criteria();
+        KeysetSort sort = keysetSortFor(sortBy);
+        if (filter.collated()) {
+            sort = new KeysetSort(sort.field(), sort.ascending(), true);
+        }
+        if (latitude != null && longitude != null && radius != null) {
+            filterCriteria = new Criteria().andOperator(filterCriteria, Criteria.where("location.point")
+                    .withinSphere(new Circle(longitude, latitude, radius / EARTH_RADIUS_KM)));
+        }
+
+        // The keyword strategy is chosen on the first page and kept in the cursor, so
+        // every page filters the same way
+        String mode = null;
+        String textKeywords = null;
+        if (StringUtils.hasText(anyField)) {
+            if (after != null) {
+                mode = after.getString("m");
+            } else {
+                boolean textMatches = supportsTextSearch(sortBy) && !filter.collated() && mongoTemplate.exists(
+                        TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(anyField)).addCriteria(filterCriteria),
+                        Artifact.class);
+                mode = textMatches ? "text" : "regex";
+            }
+            if ("text".equals(mode)) {
+                textKeywords = anyField;
+            } else {
+                filterCriteria = new Criteria().andOperator(filterCriteria, keywordRegex(anyField, ANY_FIELD_REGEX_FIELDS));
+            }
+        }
+
+        return scroll(filterCriteria, textKeywords, sort, after, new Document("m", mode), size, count);
+    }
+
+    @Override
+    public CursorPage<Artifact> scrollArtifactsByIds(Collection<String> artifactIds, String titleSearch,
+                                                     String cursor, int size, CursorPage.Count count) {
+        Criteria filterCriteria = Criteria.where("_id").in(artifactIds);
+        if (StringUtils.hasText(titleSearch)) {
+            filterCriteria = filterCriteria.and("title").regex(Pattern.quote(titleSearch), "i");
+        }
+        Document after = cursor == null ? null : PageCursor.decode(cursor);
+        return scroll(filterCriteria, null, RECENTLY_UPDATED, after, new Document(), size, count);
+    }
+
+    @Override
+    public CursorPage<Artifact> scrollAllArtifacts(String reviewStatus, String search,
+                                                   String cursor, int size, CursorPage.Count count) {
+        Criteria filterCriteria = adminFilter(reviewStatus, search);
+        Document after = cursor == null ? null : PageCursor.decode(cursor);
+
+        // The whole collection: collection metadata is estimate enough
+        if (filterCriteria == null && count == CursorPage.Count.estimated) {
+            CursorPage<Artifact> page = scroll(null, null, NEWEST_FIRST, after, new Document(), size, CursorPage.Count.none);
+            Long total = after == null ? mongoTemplate.estimatedCount(Artifact.class) : null;
+            return new CursorPage<>(page.items(), page.nextCursor(), total, true);
+        }
+        return scroll(filterCriteria, null, NEWEST_FIRST, after, new Document(), size, count);
+    }
+
+    @Override
+    public Page<Artifact> findAllArtifacts(String reviewStatus, String search, Pageable pageable) {
+        Criteria filterCriteria = adminFilter(reviewStatus, search);
+        Query query = filterCriteria == null ? new Query() : new Query(filterCriteria);
+        long totalCount = filterCriteria == null
+            ? mongoTemplate.estimatedCount(Artifact.class)
+            : mongoTemplate.count(query, Artifact.class);
+
+        query.with(Sort.by(Sort.Direction.DESC, "_id"));
+        if (pageable.isPaged()) {
+            query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        query.fields().include(CARD_FIELDS);
+        return new PageImpl<>(mongoTemplate.find(query, Artifact.class), pageable, totalCount);
+    }
+
+    // Admin listing filter on the denormalized reviewStatus field; null when it matches every artifact
+    private static Criteria adminFilter(String reviewStatus, String search) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (reviewStatus != null) {
+            // Never-submitted artifacts have no reviewStatus, which matches null
+            criteria.add(Criteria.where("reviewStatus").is(NOT_SUBMITTED.equals(reviewStatus) ? null : reviewStatus));
+        }
+        if (StringUtils.hasText(search)) {
+            criteria.add(keywordRegex(search, ADMIN_SEARCH_FIELDS));
+        }
+        return criteria.isEmpty() ? null : new Criteria().andOperator(criteria.toArray(new Criteria[0]));
+    }
+
+    /**
+     * One keyset page: the rows strictly after {@code after} in (sort key, _id) order,
+     * read as size + 1 so the extra row tells whether another page follows. No skip,
+     * so every page costs the same. The total is only counted for the first page.
+     * {@code state} is carried unchanged in the next cursor.
+     */
+    private CursorPage<Artifact> scroll(Criteria filterCriteria, String textKeywords, KeysetSort sort, Document after,
+                                        Document state, int size, CursorPage.Count count) {
+        Long total = null;
+        boolean estimated = false;
+        if (after == null && count == CursorPage.Count.exact) {
+            total = mongoTemplate.count(keysetQuery(textKeywords, filterCriteria, sort), Artifact.class);
+        } else if (after == null && count == CursorPage.Count.estimated) {
+            total = mongoTemplate.count(keysetQuery(textKeywords, filterCriteria, sort).limit(ESTIMATED_COUNT_CAP), Artifact.class);
+            estimated = total >= ESTIMATED_COUNT_CAP;
+        }
+
+        Criteria criteria = filterCriteria;
+        if (after != null) {
+            Criteria keyset = keysetAfter(sort, after);
+            criteria = filterCriteria == null ? keyset : new Criteria().andOperator(filterCriteria, keyset);
+        }
+        Query query = keysetQuery(textKeywords, criteria, sort);
+
+        Sort.Direction direction = sort.ascending() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        query.with("_id".equals(sort.field())
+            ? Sort.by(direction, "_id")
+            : Sort.by(new Sort.Order(direction, sort.field()), Sort.Order.asc("_id")));
+        query.limit(size + 1);
+        query.fields().include(CARD_FIELDS);
+
+        // Raw documents: the entity's rating getters don't expose the stored sort keys
+        List<Document> documents = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Artifact.class));
+        boolean hasMore = documents.size() > size;
+        List<Document> page = hasMore ? documents.subList(0, size) : documents;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Document last = page.get(page.size() - 1);
+            Document keys = new Document(state).append("s", sort.signature()).append("id", last.get("_id"));
+            if (!"_id".equals(sort.field())) {
+                keys.append("k", last.get(sort.field()));
+            }
+            nextCursor = PageCursor.encode(keys);
+        }
+
+        List<Artifact> items = page.stream()
+            .map(document -> mongoTemplate.getConverter().read(Artifact.class, document))
+            .toList();
+        return new CursorPage<>(items, nextCursor, total, estimated);
+    }
+
+    private static Query keysetQuery(String textKeywords, Criteria criteria, KeysetSort sort) {
+        Query query = textKeywords != null
+            ? TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(textKeywords))
+            : new Query();
+        if (criteria != null) {
+            query.addCriteria(criteria);
+        }
+        if (sort.titleCollation()) {
+            query.collation(TITLE_COLLATION);
+        }
+        return query;
+    }
+
+    /**
+     * Rows after the cursor's (key, _id). Missing keys (unrated, untitled) sort below
+     * every value in MongoDB, so they come first ascending and last descending.
+     */
+    private static Criteria keysetAfter(KeysetSort sort, Document after) {
+        if (!sort.signature().equals(after.getString("s")) || after.get("id") == null) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        Object id = after.get("id");
+        if ("_id".equals(sort.field())) {
+            return sort.ascending() ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id);
+        }
+
+        String field = sort.field();
+        Object key = after.get("k");
+        Criteria tie = Criteria.where(field).is(key).and("_id").gt(id);
+        if (key == null) {
+            return sort.ascending()
+                ? new Criteria().orOperator(tie, Criteria.where(field).ne(null))
+                : tie;
+        }
+        return sort.ascending()
+            ? new Criteria().orOperator(Criteria.where(field).gt(key), tie)
+            : new Criteria().orOperator(Criteria.where(field).lt(key), tie, Criteria.where(field).is(null));
+    }
+
+    @Override
+    public List<ArtifactClusterDTO> findClusters(double west, double south, double east, double north, int zoom) {
+        int precision = clusterPrecision(west, south, east, north, zoom);
+
+        Criteria longitude = west <= east
+            ? Criteria.where("location.longitude").gte(west).lte(east)
+            // Box crosses the antimeridian
+            : new Criteria().orOperator(
+                Criteria.where("location.longitude").gte(west),
+                Criteria.where("location.longitude").lte(east));
+
+        Criteria inView = new Criteria().andOperator(
+            visibleOnly(),
+            Criteria.where("location.latitude").gte(south).lte(north),
+            longitude,
+            Criteria.where("location.geohash").exists(true));
+
+        AggregationOperation groupByCell = context -> new Document("$group",
+            new Document("_id", new Document("$substrCP", List.of("$location.geohash", 0, precision)))
+                .append("count", new Document("$sum", 1))
+                .append("latitude", new Document("$avg", "$location.latitude"))
+                .append("longitude", new Document("$avg", "$location.longitude"))
+                .append("sampleArtifactId", new Document("$first", "$_id")));
+
+        TypedAggregation<Artifact> aggregation = Aggregation.newAggregation(Artifact.class,
+            Aggregation.match(inView),
+            groupByCell,
+            Aggregation.sort(Sort.by(Sort.Order.desc("count"))),
+            Aggregation.limit(MAX_CLUSTERS));
+
+        return mongoTemplate.aggregate(aggregation, Document.class).getMappedResults().stream()
+            .map(cell -> new ArtifactClusterDTO(
+                cell.getString("_id"),
+                cell.get("count", Number.class).longValue(),
+                cell.get("latitude", Number.class).doubleValue(),
+                cell.get("longitude", Number.class).doubleValue(),
+                cell.getString("sampleArtifactId")))
+            .toList();
+    }
+
+    /**
+     * Geohash precision for a zoom level (roughly a few cells per map tile), lowered
+     * until the bounding box spans at most MAX_CLUSTERS cells.
+     */
+    private static int clusterPrecision(double west, double south, double east, double north, int zoom) {
+        int precision = Math.max(1, Math.min(GeoHash.MAX_PRECISION, (zoom + 3) * 2 / 5));
+        double width = west <= east ? east - west : 360 - (west - east);
+        double height = north - south;
+
+        while (precision > 1) {
+            double columns = Math.ceil(width / GeoHash.cellWidth(precision)) + 1;
+            double rows = Math.ceil(height / GeoHash.cellHeight(precision)) + 1;
+            if (columns * rows <= MAX_CLUSTERS) break;
+            precision--;
+        }
+        return precision;
+    }
+
 }
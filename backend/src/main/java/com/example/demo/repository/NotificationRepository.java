@@ -1,19 +1,69 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.NotificationItem;
 import com.example.demo.entity.Notification;
-import com.example.demo.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
 
-    // Get all notifications for a recipient (e.g., professor)
-    List<Notification> findByRecipientOrderByCreatedAtDesc(User recipient);
+    // Flat inbox rows: the notification's columns and the source username, no User entities
+    String INBOX_ITEMS = "SELECT new com.example.demo.dto.NotificationItem(n.notiId, n.notificationType, n.message, "
+            + "n.relatedId, n.relatedType, n.createdAt, n.isRead, s.username) "
+            + "FROM Notification n LEFT JOIN n.source s "
+            + "WHERE n.recipient.userId = :userId AND (:unreadOnly = false OR n.isRead = false) ";
 
-    // Optional: get unread notifications for a user
-    List<Notification> findByRecipientAndIsReadFalseOrderByCreatedAtDesc(User recipient);
+    // First inbox page, newest first
+    @Query(INBOX_ITEMS + "ORDER BY n.createdAt DESC, n.notiId DESC")
+    List<NotificationItem> findInbox(@Param("userId") Integer userId, @Param("unreadOnly") boolean unreadOnly, Limit limit);
 
-    // Optional: count unread notifications
-    long countByRecipientAndIsReadFalse(User recipient);
-}
\ No newline at end of file
+    // Inbox page after the (createdAt, notiId) keys of the previous page's last row
+    @Query(INBOX_ITEMS + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.notiId < :notiId)) "
+            + "ORDER BY n.createdAt DESC, n.notiId DESC")
+    List<NotificationItem> findInboxAfter(@Param("userId") Integer userId, @Param("unreadOnly") boolean unreadOnly,
+                                          @Param("createdAt") LocalDateTime createdAt, @Param("notiId") Integer notiId,
+                                          Limit limit);
+
+    long countByRecipient_UserIdAndIsReadFalse(Integer userId);
+
+    @Query("SELECT n.recipient.userId FROM Notification n WHERE n.notiId = :notiId")
+    Optional<Integer> findRecipientId(@Param("notiId") Integer notiId);
+
+    // Bulk state changes: one statement each, returning the number of rows changed
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.userId = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true "
+            + "WHERE n.recipient.userId = :userId AND n.isRead = false AND n.createdAt <= :before")
+    int markReadBefore(@Param("userId") Integer userId, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.userId = :userId AND n.isRead = true AND n.createdAt < :before")
+    int deleteReadBefore(@Param("userId") Integer userId, @Param("before") LocalDateTime before);
+
+    // Retention: removes up to :batchSize notifications older than :before, read ones only
+    // unless :includeUnread; batched so no single statement holds locks for long
+    @Modifying
+    @Query(value = "DELETE FROM notification_tbl WHERE noti_id IN (" +
+            "SELECT noti_id FROM notification_tbl WHERE created_at < :before AND (is_read OR :includeUnread) " +
+            "LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteOlderThan(@Param("before") LocalDateTime before, @Param("includeUnread") boolean includeUnread,
+                        @Param("batchSize") int batchSize);
+
+    /** @return 1 when the notification was the user's and unread, otherwise 0 */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true "
+            + "WHERE n.notiId = :notiId AND n.recipient.userId = :userId AND n.isRead = false")
+    int markRead(@Param("notiId") Integer notiId, @Param("userId") Integer userId);
+}
@@ -2,7 +2,9 @@ package com.example.demo.repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.repository.Modifying;
 import com.example.demo.entity.Rating;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,6 +15,11 @@ import java.util.Optional;
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
     Optional<Rating> findByUserIdAndUserArtifact_ArtifactId(Integer userId, String artifactId);
+
+    // Row lock so two concurrent changes of the same rating apply their deltas one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Rating r WHERE r.userId = :userId AND r.userArtifact.artifactId = :artifactId")
+    Optional<Rating> findForUpdate(@Param("userId") Integer userId, @Param("artifactId") String artifactId);
     
     @Query("SELECT AVG(r.ratingValue) FROM Rating r WHERE r.userArtifact.artifactId = :artifactId")
     Double findAverageRatingByArtifactId(@Param("artifactId") String artifactId);
@@ -28,12 +35,16 @@ public interface RatingRepository extends JpaRepository<Rating, Integer> {
             nativeQuery = true) // Using a native query for LIMIT
      Optional<Object[]> findTopRatedArtifactWithAverageRating(); // Changed method name
      
-     @Query("SELECT r.userArtifact.artifactId, AVG(r.ratingValue) as avgRating " +
-             "FROM Rating r " +
-             "GROUP BY r.userArtifact.artifactId " +
-             "ORDER BY avgRating DESC " +
-             "LIMIT 3") //change limit here
-      List<Object[]> findTopRatedArtifacts();
+     // Per artifact: decayed sum, decayed weight, raw sum, raw count; weight halves every ln(2)/decayPerDay days
+     @Query(value = "SELECT ua.artifact_id, " +
+             "SUM(r.rating_value * w.weight), SUM(w.weight), SUM(r.rating_value), COUNT(*) " +
+             "FROM rating_tbl r " +
+             "JOIN user_artifact_tbl ua ON ua.user_artifact_id = r.user_artifact_id " +
+             "CROSS JOIN LATERAL (SELECT EXP(-:decayPerDay * " +
+             "EXTRACT(EPOCH FROM (now() - COALESCE(r.rated_at, now()))) / 86400.0) AS weight) w " +
+             "GROUP BY ua.artifact_id",
+             nativeQuery = true)
+      List<Object[]> findDecayedRatingTotals(@Param("decayPerDay") double decayPerDay);
 
       @Modifying
       @Transactional
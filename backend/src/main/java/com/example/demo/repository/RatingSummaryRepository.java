@@ -0,0 +1,90 @@
+package com.example.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entity.RatingSummary;
+
+@Repository
+public interface RatingSummaryRepository extends JpaRepository<RatingSummary, String> {
+
+    /**
+     * Atomically applies one rating change: {@code added} is the new value and
+     * {@code removed} the previous one, 0 meaning none (insert: removed = 0,
+     * delete: added = 0). The row lock taken by ON CONFLICT serializes concurrent raters.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO rating_summary AS s " +
+            "(artifact_id, rating_sum, rating_count, count_1, count_2, count_3, count_4, count_5, updated_at) " +
+            "VALUES (:artifactId, :added - :removed, SIGN(:added) - SIGN(:removed), " +
+            "CASE WHEN :added = 1 THEN 1 ELSE 0 END - CASE WHEN :removed = 1 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :added = 2 THEN 1 ELSE 0 END - CASE WHEN :removed = 2 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :added = 3 THEN 1 ELSE 0 END - CASE WHEN :removed = 3 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :added = 4 THEN 1 ELSE 0 END - CASE WHEN :removed = 4 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :added = 5 THEN 1 ELSE 0 END - CASE WHEN :removed = 5 THEN 1 ELSE 0 END, " +
+            "now()) " +
+            "ON CONFLICT (artifact_id) DO UPDATE SET " +
+            "rating_sum = s.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_count = s.rating_count + EXCLUDED.rating_count, " +
+            "count_1 = s.count_1 + EXCLUDED.count_1, " +
+            "count_2 = s.count_2 + EXCLUDED.count_2, " +
+            "count_3 = s.count_3 + EXCLUDED.count_3, " +
+            "count_4 = s.count_4 + EXCLUDED.count_4, " +
+            "count_5 = s.count_5 + EXCLUDED.count_5, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    void applyDelta(@Param("artifactId") String artifactId,
+                    @Param("added") int added,
+                    @Param("removed") int removed);
+
+    /**
+     * Blocks {@link #applyDelta} until the calling transaction ends, and waits for
+     * deltas already applied to commit. Taken before {@link #rebuildFromRatings} so
+     * its snapshot of rating_tbl can't be older than the rows it overwrites.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE rating_summary IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstDeltas();
+
+    /** Recomputes every row from rating_tbl in one statement; call under {@link #lockAgainstDeltas}. */
+    @Modifying
+    @Query(value = "INSERT INTO rating_summary " +
+            "(artifact_id, rating_sum, rating_count, count_1, count_2, count_3, count_4, count_5, updated_at) " +
+            "SELECT ua.artifact_id, SUM(r.rating_value), COUNT(*), " +
+            "COUNT(*) FILTER (WHERE r.rating_value = 1), " +
+            "COUNT(*) FILTER (WHERE r.rating_value = 2), " +
+            "COUNT(*) FILTER (WHERE r.rating_value = 3), " +
+            "COUNT(*) FILTER (WHERE r.rating_value = 4), " +
+            "COUNT(*) FILTER (WHERE r.rating_value = 5), " +
+            "now() " +
+            "FROM rating_tbl r JOIN user_artifact_tbl ua ON ua.user_artifact_id = r.user_artifact_id " +
+            "GROUP BY ua.artifact_id " +
+            "ON CONFLICT (artifact_id) DO UPDATE SET " +
+            "rating_sum = EXCLUDED.rating_sum, " +
+            "rating_count = EXCLUDED.rating_count, " +
+            "count_1 = EXCLUDED.count_1, " +
+            "count_2 = EXCLUDED.count_2, " +
+            "count_3 = EXCLUDED.count_3, " +
+            "count_4 = EXCLUDED.count_4, " +
+            "count_5 = EXCLUDED.count_5, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int rebuildFromRatings();
+
+    /** Drops rows for artifacts that no longer have any rating. */
+    @Modifying
+    @Query(value = "DELETE FROM rating_summary s WHERE NOT EXISTS (" +
+            "SELECT 1 FROM rating_tbl r JOIN user_artifact_tbl ua ON ua.user_artifact_id = r.user_artifact_id " +
+            "WHERE ua.artifact_id = s.artifact_id)",
+            nativeQuery = true)
+    int deleteOrphans();
+
+    /** Keyset pages of the summary, by artifact ID: the rows after {@code artifactId}. */
+    List<RatingSummary> findByArtifactIdGreaterThanOrderByArtifactId(String artifactId, Pageable pageable);
+}
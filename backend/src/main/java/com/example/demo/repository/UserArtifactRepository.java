@@ -8,8 +8,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -99,6 +102,45 @@ public interface UserArtifactRepository extends JpaRepository<UserArtifact, Inte
 		Collection<? extends UserArtifact> findByArtifactIdInAndStatus(List<String> matchedArtIds,
 				ApplicationStatus statusEnum);
 
+		// Artifact IDs only, so visibility rebuilds don't materialize whole entities
+		@Query("SELECT DISTINCT ua.artifactId FROM UserArtifact ua WHERE ua.status IN :statuses")
+		List<String> findArtifactIdsByStatusIn(@Param("statuses") Collection<ApplicationStatus> statuses);
+
+		boolean existsByArtifactIdAndStatusIn(String artifactId, Collection<ApplicationStatus> statuses);
+
+		// [artifactId, status] of the latest submission for each of the given artifacts
+		@Query("SELECT ua.artifactId, ua.status FROM UserArtifact ua WHERE ua.artifactId IN :artifactIds AND ua.savedAt = "
+				+ "(SELECT MAX(latest.savedAt) FROM UserArtifact latest WHERE latest.artifactId = ua.artifactId)")
+		List<Object[]> findLatestStatusesByArtifactIdIn(@Param("artifactIds") Collection<String> artifactIds);
+
+		@Query("SELECT ua.artifactId, ua.status FROM UserArtifact ua WHERE ua.savedAt = "
+				+ "(SELECT MAX(latest.savedAt) FROM UserArtifact latest WHERE latest.artifactId = ua.artifactId)")
+		List<Object[]> findAllLatestStatuses();
+
+		// [status, number of artifacts whose latest submission has it]
+		@Query("SELECT ua.status, COUNT(DISTINCT ua.artifactId) FROM UserArtifact ua WHERE ua.savedAt = "
+				+ "(SELECT MAX(latest.savedAt) FROM UserArtifact latest WHERE latest.artifactId = ua.artifactId) "
+				+ "GROUP BY ua.status")
+		List<Object[]> countArtifactsByLatestStatus();
+
+		// Keyset scrolling for the professor artifact list, newest submission first
+		Window<UserArtifact> findAllByOrderBySavedAtDescUserArtifactIdDesc(ScrollPosition position, Limit limit);
+
+		Window<UserArtifact> findByStatusOrderBySavedAtDescUserArtifactIdDesc(ApplicationStatus status,
+				ScrollPosition position, Limit limit);
+
+		Window<UserArtifact> findByArtifactIdInOrUserIdInOrderBySavedAtDescUserArtifactIdDesc(
+				Collection<String> artifactIds, Collection<Integer> userIds, ScrollPosition position, Limit limit);
+
+		Window<UserArtifact> findByArtifactIdInAndStatusOrUserIdInAndStatusOrderBySavedAtDescUserArtifactIdDesc(
+				Collection<String> artifactIds, ApplicationStatus status, Collection<Integer> userIds,
+				ApplicationStatus sameStatus, ScrollPosition position, Limit limit);
+
+		long countByArtifactIdInOrUserIdIn(Collection<String> artifactIds, Collection<Integer> userIds);
+
+		long countByArtifactIdInAndStatusOrUserIdInAndStatus(Collection<String> artifactIds, ApplicationStatus status,
+				Collection<Integer> userIds, ApplicationStatus sameStatus);
+
 }
 
 
@@ -0,0 +1,163 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.ArtifactVisibility;
+import com.example.demo.util.CompletionTrie;
+
+/**
+ * Search box completions over the titles, artist names, tags and cities/countries
+ * of visible artifacts, served from an in-memory {@link CompletionTrie}.
+ *
+ * A phrase weighs the sum of the popularity of the artifacts using it, where an
+ * artifact's popularity grows with its number of ratings. The trie is built once
+ * the application is ready and rebuilt nightly; in between, {@link #refresh(String)}
+ * re-reads one artifact after it was saved or its review status changed, and
+ * {@link #remove(String)} drops a deleted one.
+ */
+@Service
+public class ArtifactAutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactAutocompleteService.class);
+
+    private static final String[] PROJECTION =
+            { "title", "artist_name", "tags", "location.city", "location.country", "totalRatings", "visibility" };
+
+    // One phrase an artifact added to the trie, kept so it can be taken out again exactly
+    private record Contribution(String text, String kind, double weight) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final CompletionTrie trie = new CompletionTrie();
+    private final Map<String, List<Contribution>> contributions = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public ArtifactAutocompleteService(MongoTemplate mongoTemplate,
+                                       @Value("${artifact.autocomplete.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            new Thread(this::rebuild, "artifact-autocomplete-build").start();
+        }
+    }
+
+    @Scheduled(cron = "${artifact.autocomplete.rebuild-cron:0 45 3 * * *}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /** Reloads every visible artifact, streaming so the collection is never held in memory. */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        trie.clear();
+        contributions.clear();
+
+        Query query = Query.query(Criteria.where("visibility").is(ArtifactVisibility.visible));
+        query.fields().include(PROJECTION);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Artifact.class))) {
+            documents.forEach(this::put);
+        } catch (RuntimeException e) {
+            logger.error("Artifact autocomplete build failed", e);
+            return;
+        }
+
+        ready = true;
+        logger.info("Artifact autocomplete built: {} phrases from {} artifacts in {} ms",
+                trie.size(), contributions.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** Re-reads one artifact: indexed while visible, dropped otherwise (or when it no longer exists). */
+    public void refresh(String artifactId) {
+        if (!enabled || artifactId == null) return;
+
+        Query query = Query.query(Criteria.where("_id").is(artifactId));
+        query.fields().include(PROJECTION);
+        Document document = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Artifact.class));
+        if (document == null || !ArtifactVisibility.visible.name().equals(document.getString("visibility"))) {
+            remove(artifactId);
+        } else {
+            put(document);
+        }
+    }
+
+    public synchronized void remove(String artifactId) {
+        if (!enabled || artifactId == null) return;
+
+        List<Contribution> previous = contributions.remove(artifactId);
+        if (previous != null) {
+            previous.forEach(c -> trie.remove(c.text(), c.kind(), c.weight()));
+        }
+    }
+
+    /** The {@code limit} most popular phrases starting with {@code prefix}. */
+    public List<CompletionTrie.Completion> complete(String prefix, int limit) {
+        return trie.complete(prefix, limit);
+    }
+
+    private synchronized void put(Document document) {
+        String artifactId = document.getString("_id");
+        remove(artifactId);
+
+        // Rated artifacts count for more, with diminishing returns
+        Number totalRatings = document.get("totalRatings", Number.class);
+        double weight = 1 + Math.log1p(totalRatings == null ? 0 : Math.max(0, totalRatings.longValue()));
+
+        List<Contribution> added = new ArrayList<>();
+        add(added, document.getString("title"), "title", weight);
+        add(added, document.getString("artist_name"), "artist", weight);
+        List<?> tags = document.get("tags", List.class);
+        if (tags != null) {
+            for (Object tag : tags) {
+                if (tag instanceof String value) add(added, value, "tag", weight);
+            }
+        }
+        Document location = document.get("location", Document.class);
+        if (location != null) {
+            add(added, location.getString("city"), "place", weight);
+            add(added, location.getString("country"), "place", weight);
+        }
+
+        added.forEach(c -> trie.add(c.text(), c.kind(), c.weight()));
+        contributions.put(artifactId, added);
+    }
+
+    private static void add(List<Contribution> added, String text, String kind, double weight) {
+        if (text == null || CompletionTrie.normalize(text).isEmpty()) return;
+        // The same phrase twice on one artifact (e.g. duplicate tags) counts once
+        Contribution contribution = new Contribution(text.trim(), kind, weight);
+        if (added.stream().noneMatch(c -> c.kind().equals(kind)
+                && CompletionTrie.normalize(c.text()).equals(CompletionTrie.normalize(text)))) {
+            added.add(contribution);
+        }
+    }
+}
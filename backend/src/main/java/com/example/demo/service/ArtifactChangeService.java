@@ -0,0 +1,48 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Artifact;
+
+/**
+ * The one place a saved or deleted artifact is announced to the in-memory views of
+ * the collection: the keyword index, the filter suggestions, the autocomplete trie
+ * and the search result cache. The cache is invalidated last, so a search racing
+ * the update can't re-cache a page built from the old index.
+ */
+@Service
+public class ArtifactChangeService {
+
+    private final ArtifactSearchIndexService searchIndexService;
+    private final ArtifactSuggestionService suggestionService;
+    private final ArtifactAutocompleteService autocompleteService;
+    private final ArtifactSearchCacheService searchCacheService;
+
+    @Autowired
+    public ArtifactChangeService(ArtifactSearchIndexService searchIndexService,
+                                 ArtifactSuggestionService suggestionService,
+                                 ArtifactAutocompleteService autocompleteService,
+                                 ArtifactSearchCacheService searchCacheService) {
+        this.searchIndexService = searchIndexService;
+        this.suggestionService = suggestionService;
+        this.autocompleteService = autocompleteService;
+        this.searchCacheService = searchCacheService;
+    }
+
+    /** Call after an artifact was created or updated, with the saved document. */
+    public void artifactChanged(Artifact artifact) {
+        searchIndexService.index(artifact);
+        suggestionService.markDirty();
+        autocompleteService.refresh(artifact.getId());
+        searchCacheService.invalidate();
+    }
+
+    /** Call after an artifact was deleted. */
+    public void artifactDeleted(String artifactId) {
+        searchIndexService.remove(artifactId);
+        suggestionService.markDirty();
+        autocompleteService.remove(artifactId);
+        searchCacheService.invalidate();
+    }
+}
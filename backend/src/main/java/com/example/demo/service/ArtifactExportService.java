@@ -0,0 +1,208 @@
+package com.example.demo.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.LocationInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes search results as NDJSON (one JSON object per line) or CSV, one row at a
+ * time as the Mongo cursor yields them, so an export never holds more than a
+ * cursor batch and the writer buffer in memory. A slow client blocks the writes
+ * and with them the cursor.
+ *
+ * {@link #export} runs the write on a virtual thread behind a response emitter with
+ * its own timeout, so only exports get a long async timeout, not every request.
+ */
+@Service
+public class ArtifactExportService {
+
+    // Rows written between flushes, so the client starts receiving data early
+    private static final int FLUSH_EVERY = 100;
+
+    // Leading characters that make Excel, LibreOffice or Sheets evaluate a cell
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    // CSV header: the keys row() writes, in order
+    private static final List<String> COLUMNS = List.copyOf(row(new Artifact()).keySet());
+
+    public enum Format {
+        ndjson("application/x-ndjson"),
+        csv("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType + ";charset=UTF-8";
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ArtifactExportService(ObjectMapper objectMapper,
+                                 @Value("${artifact.export.timeout-ms:600000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Streams the artifacts {@code artifacts} opens to the returned emitter. The stream is
+     * opened on the writer thread and closed when the export ends, times out or the client
+     * goes away (the next send then fails).
+     */
+    public ResponseBodyEmitter export(Supplier<Stream<Artifact>> artifacts, Format format) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        writers.execute(() -> {
+            try (Stream<Artifact> stream = artifacts.get()) {
+                write(stream, format, new EmitterOutputStream(emitter));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /** Writes every artifact of the stream to {@code out}; the caller closes the stream. */
+    public long write(Stream<Artifact> artifacts, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.csv) {
+            writeCsvLine(writer, COLUMNS);
+        }
+
+        long rows = 0;
+        Iterator<Artifact> iterator = artifacts.iterator();
+        while (iterator.hasNext()) {
+            Map<String, Object> row = row(iterator.next());
+            if (format == Format.csv) {
+                writeCsvLine(writer, row.values());
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++rows % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // Column order of both formats; a null value is an empty CSV field and a JSON null
+    private static Map<String, Object> row(Artifact artifact) {
+        LocationInfo location = artifact.getLocation() != null ? artifact.getLocation() : new LocationInfo();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", artifact.getId());
+        row.put("title", artifact.getTitle());
+        row.put("artist_name", artifact.getArtist_name());
+        row.put("category", artifact.getCategory());
+        row.put("culture", artifact.getCulture());
+        row.put("department", artifact.getDepartment());
+        row.put("period", artifact.getPeriod());
+        row.put("exact_found_date", artifact.getExact_found_date());
+        row.put("year_from", artifact.getYearFrom());
+        row.put("year_to", artifact.getYearTo());
+        row.put("medium", artifact.getMedium());
+        row.put("dimension", artifact.getDimension());
+        row.put("tags", artifact.getTags());
+        row.put("description", artifact.getDescription());
+        row.put("placename", location.getPlacename());
+        row.put("city", location.getCity());
+        row.put("region", location.getRegion());
+        row.put("country", location.getCountry());
+        row.put("continent", location.getContinent());
+        row.put("latitude", location.getLatitude());
+        row.put("longitude", location.getLongitude());
+        row.put("image_url", imageUrl(artifact));
+        row.put("uploaded_by", artifact.getUploaded_by());
+        row.put("uploaded_at", artifact.getUploaded_at());
+        row.put("updated_at", artifact.getUpdated_at());
+        return row;
+    }
+
+    // image_url when set, otherwise the first image that has a URL (as on the cards)
+    private static String imageUrl(Artifact artifact) {
+        if (artifact.getImage_url() != null && !artifact.getImage_url().isBlank()) {
+            return artifact.getImage_url().trim();
+        }
+        if (artifact.getImages() == null) return null;
+        return artifact.getImages().stream()
+                .map(Artifact.ArtifactImage::getBaseimageurl)
+                .filter(url -> url != null && !url.isBlank())
+                .map(String::trim)
+                .findFirst().orElse(null);
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled
+    private static void writeCsvLine(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) writer.write(',');
+            first = false;
+            if (value == null) continue;
+            String text = value instanceof List<?> list
+                    ? String.join("; ", list.stream().map(String::valueOf).toList())
+                    : value.toString();
+            // Text a spreadsheet would run as a formula is prefixed with ' (numbers such as -12.5 stay as they are)
+            if (!(value instanceof Number) && !text.isEmpty() && FORMULA_START.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // Sends each chunk the writer flushes as raw bytes; the emitter flushes after every send
+    private static final class EmitterOutputStream extends OutputStream {
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) return;
+            emitter.send(Arrays.copyOfRange(bytes, offset, offset + length), MediaType.APPLICATION_OCTET_STREAM);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.IndexReport;
+import com.example.demo.entity.Artifact;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The indexes the artifacts collection needs: those declared by the annotations on
+ * {@link Artifact} (search, geo, text) plus {@link #REGISTERED}, which covers
+ * queries outside the search filter and keys that need options the annotations
+ * can't express. Missing ones are created at startup and on demand from the admin
+ * API; {@link #report()} compares what exists with what is declared and, through
+ * $indexStats, with what queries actually use.
+ *
+ * An existing index only counts as the declared one when its keys and collation
+ * match too: several declarations share keys and differ only in collation, and a
+ * query under the wrong collation can't use the index. A mismatched index is
+ * reported, never replaced here, since dropping it is the admin's call.
+ */
+@Service
+public class ArtifactIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactIndexService.class);
+
+    // Same comparison as the title sort and iexact match modes in CustomArtifactRepositoryImpl
+    private static final Collation CASE_INSENSITIVE = Collation.of(Locale.ENGLISH).strength(Collation.ComparisonLevel.secondary());
+
+    private static final List<IndexDefinition> REGISTERED = List.of(
+        // A curator's own artifacts (findByUploaded_by, my-artworks), most recently updated first
+        new CompoundIndexDefinition(new Document("uploaded_by", 1).append("updated_at", -1))
+                .named("uploaded_by_updated_at"),
+        // fromDate/toDate range filters
+        new CompoundIndexDefinition(new Document("visibility", 1).append("exact_found_date", 1))
+                .named("visibility_exact_found_date"),
+        // city/country filters in the exact and prefix match modes
+        new CompoundIndexDefinition(new Document("visibility", 1).append("location.city", 1))
+                .named("visibility_location_city"),
+        new CompoundIndexDefinition(new Document("visibility", 1).append("location.country", 1))
+                .named("visibility_location_country"),
+        // Admin artwork list filtered by review status, newest first
+        new CompoundIndexDefinition(new Document("reviewStatus", 1).append("_id", -1))
+                .named("review_status_id"),
+        // A-Z / Z-A title sorts run under the case-insensitive collation
+        new CompoundIndexDefinition(new Document("visibility", 1).append("title", 1))
+                .named("visibility_title_ci").collation(CASE_INSENSITIVE)
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean ensureOnStartup;
+
+    @Autowired
+    public ArtifactIndexService(MongoTemplate mongoTemplate,
+                                @Value("${artifact.indexes.ensure-on-startup:true}") boolean ensureOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.ensureOnStartup = ensureOnStartup;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (ensureOnStartup) {
+            ensureIndexes();
+        }
+    }
+
+    /**
+     * Creates every declared index that doesn't exist yet; existing ones are left alone,
+     * with a warning when their keys or collation differ from the declaration. A failing
+     * index (e.g. same keys under another name) is logged and skipped.
+     *
+     * @return the names of the indexes created
+     */
+    public List<String> ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Artifact.class);
+        Map<String, Document> existing = existingIndexes();
+
+        List<IndexDefinition> declared = declaredIndexes();
+        List<String> created = new ArrayList<>();
+        for (IndexDefinition definition : declared) {
+            String name = nameOf(definition);
+            String existingName = existingNameOf(definition, existing);
+            if (existingName != null) {
+                String mismatch = mismatchOf(definition, existing.get(existingName));
+                if (mismatch != null) {
+                    logger.warn("Artifacts index {} doesn't match its declaration ({}); drop it to have it rebuilt",
+                            existingName, mismatch);
+                }
+                continue;
+            }
+            try {
+                indexOps.ensureIndex(definition);
+                created.add(name);
+            } catch (RuntimeException e) {
+                logger.error("Could not create artifacts index {}: {}", name, e.getMessage());
+            }
+        }
+        logger.info("Artifact indexes verified: {} declared, {} created {}", declared.size(), created.size(), created);
+        return created;
+    }
+
+    public IndexReport report() {
+        Map<String, Document> existing = existingIndexes();
+        List<IndexDefinition> declared = declaredIndexes();
+
+        List<String> missing = new ArrayList<>();
+        List<IndexReport.Mismatch> mismatched = new ArrayList<>();
+        List<String> declaredNames = new ArrayList<>();
+        for (IndexDefinition definition : declared) {
+            String existingName = existingNameOf(definition, existing);
+            if (existingName == null) {
+                missing.add(nameOf(definition));
+                continue;
+            }
+            declaredNames.add(existingName);
+            String mismatch = mismatchOf(definition, existing.get(existingName));
+            if (mismatch != null) {
+                mismatched.add(new IndexReport.Mismatch(existingName, mismatch));
+            }
+        }
+
+        Map<String, Document> stats = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Artifact.class))
+                .aggregate(List.of(new Document("$indexStats", new Document())))
+                .forEach(stat -> stats.put(stat.getString("name"), stat));
+
+        List<IndexReport.IndexUsage> indexes = new ArrayList<>();
+        List<String> unused = new ArrayList<>();
+        List<String> undeclared = new ArrayList<>();
+        for (Document index : existing.values()) {
+            IndexInfo info = IndexInfo.indexInfoOf(index);
+            String name = info.getName();
+            Document accesses = stats.containsKey(name) ? stats.get(name).get("accesses", Document.class) : null;
+            long ops = accesses == null ? 0 : accesses.get("ops", Number.class).longValue();
+            Date since = accesses == null ? null : accesses.getDate("since");
+
+            boolean isDeclared = "_id_".equals(name) || declaredNames.contains(name);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (IndexField field : info.getIndexFields()) {
+                Object type = field.getDirection() != null ? (field.getDirection().isAscending() ? 1 : -1)
+                        : field.isText() ? "text" : field.isGeo() ? "geo" : "other";
+                keys.put(field.getKey(), type);
+            }
+            indexes.add(new IndexReport.IndexUsage(name, keys, isDeclared, ops, since == null ? null : since.toInstant()));
+
+            if (!isDeclared) undeclared.add(name);
+            if (ops == 0 && !"_id_".equals(name)) unused.add(name);
+        }
+
+        return new IndexReport(mongoTemplate.getCollectionName(Artifact.class), indexes, missing, mismatched,
+                unused, undeclared);
+    }
+
+    // Annotation-declared indexes first (as auto-index-creation would build them), then the registry
+    private List<IndexDefinition> declaredIndexes() {
+        List<IndexDefinition> declared = new ArrayList<>();
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Artifact.class)
+                .forEach(declared::add);
+        declared.addAll(REGISTERED);
+        return declared;
+    }
+
+    // Raw listIndexes output by name: IndexInfo drops the collation and the geo index types
+    private Map<String, Document> existingIndexes() {
+        Map<String, Document> existing = new LinkedHashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Artifact.class))
+                .listIndexes()
+                .forEach(index -> existing.put(index.getString("name"), index));
+        return existing;
+    }
+
+    // Indexes are found by name (MongoDB's default one when none is given); the text index matches any text index
+    private static String existingNameOf(IndexDefinition definition, Map<String, Document> existing) {
+        if (definition.getIndexKeys().containsValue("text")) {
+            return existing.values().stream()
+                    .filter(index -> index.get("key", Document.class).containsKey("_fts"))
+                    .map(index -> index.getString("name"))
+                    .findFirst().orElse(null);
+        }
+        String name = nameOf(definition);
+        return existing.containsKey(name) ? name : null;
+    }
+
+    // How an existing index differs from its declaration in keys or collation, or null when it doesn't
+    private static String mismatchOf(IndexDefinition definition, Document index) {
+        Document keys = definition.getIndexKeys();
+        if (keys.containsValue("text")) {
+            // A text index stores its fields as weights (default 1) behind the _fts/_ftsx keys
+            Document declaredWeights = definition.getIndexOptions().get("weights", Document.class);
+            Map<String, Object> weights = new LinkedHashMap<>();
+            keys.forEach((key, value) -> {
+                if ("text".equals(value)) {
+                    weights.put(key, declaredWeights != null && declaredWeights.containsKey(key) ? declaredWeights.get(key) : 1);
+                }
+            });
+            Document existingWeights = index.get("weights", Document.class);
+            if (!sameEntries(weights, existingWeights, false)) {
+                return "text weights " + existingWeights + " instead of " + weights;
+            }
+        } else if (!sameEntries(keys, index.get("key", Document.class), true)) {
+            return "keys " + index.get("key", Document.class).toJson() + " instead of " + keys.toJson();
+        }
+
+        Document collation = collationOf(definition.getIndexOptions().get("collation", Document.class));
+        Document existingCollation = collationOf(index.get("collation", Document.class));
+        if (collation == null ? existingCollation != null : !containsEntries(existingCollation, collation)) {
+            return "collation " + (existingCollation == null ? "simple" : existingCollation.toJson())
+                    + " instead of " + (collation == null ? "simple" : collation.toJson());
+        }
+        return null;
+    }
+
+    // Null for the binary "simple" collation, however it is spelled
+    private static Document collationOf(Document collation) {
+        return collation == null || "simple".equals(collation.getString("locale")) ? null : collation;
+    }
+
+    private static boolean sameEntries(Map<String, Object> declared, Map<String, Object> existing, boolean ordered) {
+        if (existing == null || declared.size() != existing.size()) return false;
+        if (ordered && !List.copyOf(declared.keySet()).equals(List.copyOf(existing.keySet()))) return false;
+        return containsEntries(existing, declared);
+    }
+
+    // The server echoes every collation option; only the declared ones have to agree
+    private static boolean containsEntries(Map<String, Object> existing, Map<String, Object> declared) {
+        if (existing == null) return false;
+        return declared.entrySet().stream().allMatch(entry -> sameValue(entry.getValue(), existing.get(entry.getKey())));
+    }
+
+    // 1, 1L and 1.0 are the same direction or weight
+    private static boolean sameValue(Object declared, Object existing) {
+        if (declared instanceof Number a && existing instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        return Objects.equals(declared, existing);
+    }
+
+    private static String nameOf(IndexDefinition definition) {
+        String name = definition.getIndexOptions().getString("name");
+        if (name != null) return name;
+        // key_direction pairs joined by underscores, as MongoDB names an unnamed index
+        StringBuilder generated = new StringBuilder();
+        definition.getIndexKeys().forEach((key, value) ->
+                generated.append(generated.isEmpty() ? "" : "_").append(key).append('_').append(value));
+        return generated.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.ArtifactRatingSummary;
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.Rating;
+import com.example.demo.entity.RatingSummary;
+import com.example.demo.entity.UserArtifact;
+import com.example.demo.repository.RatingRepository;
+import com.example.demo.repository.RatingSummaryRepository;
+
+/**
+ * Owns rating writes and the rating_summary table. Every insert, change or delete
+ * of a rating applies its delta to the artifact's summary row in the same
+ * transaction, so reads are a primary key lookup. After commit the new average is
+ * copied onto the Mongo artifact (averageRating/totalRatings) for rating sorts.
+ */
+@Service
+public class ArtifactRatingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactRatingService.class);
+
+    // Keeps the IN list well below the PostgreSQL bind parameter limit
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    // Summary rows read, and artifacts updated in one bulk write, per rebuild batch
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final RatingRepository ratingRepository;
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+
+    // Written onto the artifact with every rating copy; a rebuild zeroes the rated artifacts it didn't stamp
+    private volatile long ratingsGeneration;
+
+    @Autowired
+    public ArtifactRatingService(RatingRepository ratingRepository, RatingSummaryRepository ratingSummaryRepository,
+                                 MongoTemplate mongoTemplate, PlatformTransactionManager transactionManager,
+                                 LeaderboardService leaderboardService) {
+        this.ratingRepository = ratingRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.leaderboardService = leaderboardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    /** Creates or changes the user's rating of an artifact and returns the updated summary. */
+    @Transactional
+    public ArtifactRatingSummary rate(Integer userId, UserArtifact artifactLink, int ratingValue) {
+        String artifactId = artifactLink.getArtifactId();
+        Optional<Rating> existing = ratingRepository.findForUpdate(userId, artifactId);
+
+        Rating rating;
+        int previousValue = 0;
+        if (existing.isPresent()) {
+            rating = existing.get();
+            previousValue = rating.getRatingValue();
+            rating.setRatingValue(ratingValue);
+            rating.setRatedAt(LocalDateTime.now());
+        } else {
+            rating = new Rating();
+            rating.setUserId(userId);
+            rating.setUserArtifact(artifactLink);
+            rating.setRatingValue(ratingValue);
+        }
+        ratingRepository.save(rating);
+
+        ratingSummaryRepository.applyDelta(artifactId, ratingValue, previousValue);
+        return afterChange(artifactId);
+    }
+
+    /** Removes the user's rating; empty when there was nothing to remove. */
+    @Transactional
+    public Optional<ArtifactRatingSummary> unrate(Integer userId, String artifactId) {
+        Optional<Rating> existing = ratingRepository.findForUpdate(userId, artifactId);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ratingRepository.delete(existing.get());
+        ratingSummaryRepository.applyDelta(artifactId, 0, existing.get().getRatingValue());
+        return Optional.of(afterChange(artifactId));
+    }
+
+    /** Drops the summary of a deleted artifact. */
+    @Transactional
+    public void deleteSummary(String artifactId) {
+        ratingSummaryRepository.deleteById(artifactId);
+    }
+
+    private ArtifactRatingSummary afterChange(String artifactId) {
+        ArtifactRatingSummary summary = getSummary(artifactId);
+
+        // Mongo isn't part of the JPA transaction; only publish what actually committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    syncArtifact(summary);
+                }
+            });
+        } else {
+            syncArtifact(summary);
+        }
+        return summary;
+    }
+
+    private void syncArtifact(ArtifactRatingSummary summary) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(summary.artifactId())),
+                artifactRatingUpdate(summary, ratingsGeneration),
+                Artifact.class);
+        leaderboardService.markDirty();
+    }
+
+    // Unrated artifacts carry no averageRating so they sort after every rated one
+    private static Update artifactRatingUpdate(ArtifactRatingSummary summary, long generation) {
+        Update update = Update.update("totalRatings", summary.totalRatings()).set("ratingsGeneration", generation);
+        if (summary.totalRatings() > 0) {
+            update.set("averageRating", summary.averageRating());
+        } else {
+            update.unset("averageRating");
+        }
+        return update;
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    public ArtifactRatingSummary getSummary(String artifactId) {
+        return ratingSummaryRepository.findById(artifactId)
+                .map(ArtifactRatingService::toSummary)
+                .orElse(ArtifactRatingSummary.unrated(artifactId));
+    }
+
+    /** Rating histogram (index 0 = 1 star); all zeros when unrated. */
+    public long[] getHistogram(String artifactId) {
+        return ratingSummaryRepository.findById(artifactId)
+                .map(RatingSummary::getHistogram)
+                .orElse(new long[5]);
+    }
+
+    /** Summary per artifact ID; artifacts without ratings map to {@link ArtifactRatingSummary#unrated}. */
+    public Map<String, ArtifactRatingSummary> getSummaries(Collection<String> artifactIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(artifactIds));
+        ids.removeIf(Objects::isNull);
+
+        Map<String, ArtifactRatingSummary> summaries = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (RatingSummary row : ratingSummaryRepository.findAllById(chunk)) {
+                summaries.put(row.getArtifactId(), toSummary(row));
+            }
+        }
+
+        for (String id : ids) {
+            summaries.putIfAbsent(id, ArtifactRatingSummary.unrated(id));
+        }
+        return summaries;
+    }
+
+    private static ArtifactRatingSummary toSummary(RatingSummary row) {
+        return new ArtifactRatingSummary(row.getArtifactId(), row.getAverageRating(), row.getRatingCount());
+    }
+
+    // ---------------------------------------------------------------- rebuild
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (ratingSummaryRepository.count() == 0 && ratingRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes rating_summary from rating_tbl, repairing any drift, then copies
+     * the results onto the Mongo artifacts in bulk. Rating writes wait while the
+     * summary is rebuilt (one grouped statement), so none of their deltas are lost.
+     * The copy walks the summary in keyset batches and stamps each artifact with a
+     * new generation; rated artifacts left unstamped lost their ratings and are zeroed.
+     */
+    @Scheduled(cron = "${rating.summary.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int[] changed = transactionTemplate.execute(status -> {
+            // Without the lock a delta committed after the rebuild's snapshot would be overwritten
+            ratingSummaryRepository.lockAgainstDeltas();
+            return new int[] {
+                    ratingSummaryRepository.rebuildFromRatings(),
+                    ratingSummaryRepository.deleteOrphans()
+            };
+        });
+
+        // Rating writes from here on carry the new stamp too, so one committed mid-copy isn't zeroed below
+        long generation = System.currentTimeMillis();
+        ratingsGeneration = generation;
+
+        long copied = 0;
+        String after = "";
+        List<RatingSummary> rows;
+        do {
+            rows = ratingSummaryRepository.findByArtifactIdGreaterThanOrderByArtifactId(
+                    after, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (rows.isEmpty()) break;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Artifact.class);
+            for (RatingSummary row : rows) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(row.getArtifactId())),
+                        artifactRatingUpdate(toSummary(row), generation));
+            }
+            bulk.execute();
+            copied += rows.size();
+            after = rows.get(rows.size() - 1).getArtifactId();
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        // Artifacts whose ratings are all gone: still rated, but not stamped by this rebuild
+        long zeroed = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("totalRatings").gt(0).and("ratingsGeneration").ne(generation)),
+                artifactRatingUpdate(ArtifactRatingSummary.unrated(null), generation),
+                Artifact.class).getModifiedCount();
+        leaderboardService.markDirty();
+
+        logger.info("Rating summary rebuilt: {} rows upserted, {} removed, {} artifacts copied, {} zeroed in {} ms",
+                changed[0], changed[1], copied, zeroed, System.currentTimeMillis() - start);
+    }
+}
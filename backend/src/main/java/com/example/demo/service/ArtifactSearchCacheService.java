@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.util.SingleFlightCache;
+
+/**
+ * Short-lived cache of search result pages, as the page's artifact IDs plus the
+ * total, so that the many identical searches of the home and browse pages (empty
+ * query, default sort, first page) cost one MongoDB query per TTL instead of one
+ * per visitor. Concurrent identical misses share a single query.
+ *
+ * Anything that changes which artifacts match or how they sort (saving or deleting
+ * an artifact, a review status change) calls {@link #invalidate()}. Rating changes
+ * don't: rating-sorted pages may lag by up to the TTL.
+ */
+@Service
+public class ArtifactSearchCacheService {
+
+    /** One cached result page. */
+    public record CachedPage(List<String> ids, long total) {}
+
+    /**
+     * Normalized search parameters: blank text is absent, as the filters ignore it.
+     * Anything else is kept verbatim, since exact match modes are case-sensitive.
+     */
+    public record Key(List<Object> params) {
+
+        public static Key of(Object... params) {
+            Object[] normalized = new Object[params.length];
+            for (int i = 0; i < params.length; i++) {
+                normalized[i] = params[i] instanceof String text ? normalize(text) : params[i];
+            }
+            // Arrays.asList rather than List.of: absent parameters are nulls
+            return new Key(Arrays.asList(normalized));
+        }
+
+        private static String normalize(String text) {
+            return text.isBlank() ? null : text;
+        }
+    }
+
+    private final boolean enabled;
+    private final SingleFlightCache<Key, CachedPage> cache;
+
+    @Autowired
+    public ArtifactSearchCacheService(@Value("${artifact.search.cache.enabled:true}") boolean enabled,
+                                      @Value("${artifact.search.cache.max-entries:1000}") int maxEntries,
+                                      @Value("${artifact.search.cache.ttl-ms:30000}") long ttlMs) {
+        this.enabled = enabled;
+        this.cache = new SingleFlightCache<>(maxEntries, ttlMs);
+    }
+
+    public CachedPage get(Key key, Supplier<CachedPage> loader) {
+        return enabled ? cache.get(key, loader) : loader.get();
+    }
+
+    public void invalidate() {
+        if (enabled) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.util.InvertedIndex;
+
+/**
+ * Optional in-process keyword index over the artifact text fields, enabled with
+ * {@code artifact.search.index.enabled=true}. When enabled it is built from the
+ * artifacts collection once the application is ready and kept current through
+ * {@link ArtifactChangeService} as artifacts are saved or deleted. Until the build finishes
+ * {@link #isReady()} is false and search stays on MongoDB.
+ *
+ * A build fills a new index off to the side while saves and deletes keep going to
+ * the current one. Those changes are also recorded and replayed onto the new index
+ * before it is swapped in, so the cursor can't bring back a deleted artifact or an
+ * older version of an edited one.
+ */
+@Service
+public class ArtifactSearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactSearchIndexService.class);
+
+    // Same fields and weights as the Mongo text index on Artifact
+    private static final List<Function<Artifact, List<String>>> FIELDS = List.of(
+            a -> single(a.getTitle()),
+            a -> single(a.getArtist_name()),
+            a -> a.getTags(),
+            a -> single(a.getCulture()),
+            a -> single(a.getDepartment()),
+            a -> single(a.getPeriod()),
+            a -> single(a.getMedium()),
+            a -> single(a.getDescription()));
+    private static final float[] WEIGHTS = { 10, 8, 5, 2, 2, 2, 2, 1 };
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private volatile InvertedIndex index = new InvertedIndex(WEIGHTS);
+    private volatile boolean ready;
+
+    // Guards the swap and the change log below against concurrent saves and deletes
+    private final Object changeLock = new Object();
+    // Latest saved version per artifact ID (null when deleted) while a build streams, else null
+    private Map<String, Artifact> changedDuringBuild;
+
+    @Autowired
+    public ArtifactSearchIndexService(MongoTemplate mongoTemplate,
+                                      @Value("${artifact.search.index.enabled:false}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            new Thread(this::rebuild, "artifact-index-build").start();
+        }
+    }
+
+    /** Reloads every artifact's text fields, streaming so the collection is never held in memory. */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        InvertedIndex fresh = new InvertedIndex(WEIGHTS);
+        synchronized (changeLock) {
+            changedDuringBuild = new HashMap<>();
+        }
+
+        Query query = new Query();
+        query.fields().include("title", "artist_name", "tags", "culture", "department", "period", "medium", "description");
+        try (Stream<Artifact> artifacts = mongoTemplate.stream(query, Artifact.class)) {
+            artifacts.forEach(artifact -> put(fresh, artifact));
+        } catch (RuntimeException e) {
+            synchronized (changeLock) {
+                changedDuringBuild = null;
+            }
+            logger.error("Artifact search index build failed, search stays on MongoDB", e);
+            return;
+        }
+
+        int replayed;
+        synchronized (changeLock) {
+            replayed = changedDuringBuild.size();
+            changedDuringBuild.forEach((id, artifact) -> {
+                if (artifact == null) fresh.remove(id);
+                else put(fresh, artifact);
+            });
+            changedDuringBuild = null;
+            index = fresh;
+        }
+
+        ready = true;
+        logger.info("Artifact search index built: {} documents ({} changes replayed) in {} ms",
+                fresh.size(), replayed, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** Adds or re-indexes an artifact after it was saved. */
+    public void index(Artifact artifact) {
+        if (enabled && artifact != null && artifact.getId() != null) {
+            synchronized (changeLock) {
+                if (changedDuringBuild != null) changedDuringBuild.put(artifact.getId(), artifact);
+                put(index, artifact);
+            }
+        }
+    }
+
+    public void remove(String artifactId) {
+        if (enabled && artifactId != null) {
+            synchronized (changeLock) {
+                if (changedDuringBuild != null) changedDuringBuild.put(artifactId, null);
+                index.remove(artifactId);
+            }
+        }
+    }
+
+    /** Ranked IDs of the best {@code limit} accepted matches plus the total match count. */
+    public InvertedIndex.Hits search(String query, int limit, Predicate<String> accept) {
+        return index.search(query, limit, accept);
+    }
+
+    private static void put(InvertedIndex index, Artifact artifact) {
+        index.put(artifact.getId(), FIELDS.stream().map(field -> field.apply(artifact)).toList());
+    }
+
+    private static List<String> single(String value) {
+        return value == null ? List.of() : List.of(value);
+    }
+}
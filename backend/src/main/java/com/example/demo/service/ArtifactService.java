@@ -2,10 +2,15 @@ package com.example.demo.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FacetedSearchResult;
+import com.example.demo.dto.MatchMode;
 import com.example.demo.entity.Artifact;
 
 
@@ -24,17 +29,110 @@ public interface ArtifactService {
         String tags,
         LocalDate fromDate,
         LocalDate toDate,
+        Integer yearFrom,
+        Integer yearTo,
         String locationQuery,
         Double latitude,
         Double longitude,
         Double radius,
         String city,
         String country,
+        Map<String, MatchMode> matchModes,
         String sortBy,
         Pageable pageable
     );
     
+    /**
+     * Same filters as {@link #searchArtifacts}, plus the top value counts per facet
+     * (category, culture, period, department) among the matches. {@code facetSize}
+     * null uses the configured default.
+     */
+    FacetedSearchResult<Artifact> facetedSearch(
+        String anyField,
+        String title,
+        String category,
+        String culture,
+        String department,
+        String period,
+        String medium,
+        String artistName,
+        String tags,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Integer yearFrom,
+        Integer yearTo,
+        String locationQuery,
+        Double latitude,
+        Double longitude,
+        Double radius,
+        String city,
+        String country,
+        Map<String, MatchMode> matchModes,
+        String sortBy,
+        Pageable pageable,
+        Integer facetSize
+    );
+
     Page<Artifact> globalSearch(String search, Pageable pageable);
+
+    /**
+     * Keyset-paginated {@link #searchArtifacts}; see
+     * {@link com.example.demo.repository.CustomArtifactRepository#scrollArtifacts}.
+     */
+    CursorPage<Artifact> scrollArtifacts(
+        String anyField,
+        String title,
+        String category,
+        String culture,
+        String department,
+        String period,
+        String medium,
+        String artistName,
+        String tags,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Integer yearFrom,
+        Integer yearTo,
+        String locationQuery,
+        Double latitude,
+        Double longitude,
+        Double radius,
+        String city,
+        String country,
+        Map<String, MatchMode> matchModes,
+        String sortBy,
+        String cursor,
+        int size,
+        CursorPage.Count count
+    );
+
+    /**
+     * All matches of {@link #searchArtifacts} as a cursor-backed stream, for export; see
+     * {@link com.example.demo.repository.CustomArtifactRepository#streamArtifacts}. Must be closed.
+     */
+    Stream<Artifact> streamArtifacts(
+        String anyField,
+        String title,
+        String category,
+        String culture,
+        String department,
+        String period,
+        String medium,
+        String artistName,
+        String tags,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Integer yearFrom,
+        Integer yearTo,
+        String locationQuery,
+        Double latitude,
+        Double longitude,
+        Double radius,
+        String city,
+        String country,
+        Map<String, MatchMode> matchModes,
+        String sortBy
+    );
     
     // Add methods for distinct values
     List<String> getDistinctCategories();
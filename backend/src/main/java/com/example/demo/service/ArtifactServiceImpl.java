@@ -1,77 +1,232 @@
 package com.example.demo.service;
 
 import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FacetedSearchResult;
+import com.example.demo.dto.MatchMode;
 import com.example.demo.entity.Artifact;
 import com.example.demo.repository.ArtifactRepository;
+import com.example.demo.util.InvertedIndex;
 
 @Service
 public class ArtifactServiceImpl implements ArtifactService {
 
+    // Per-request cap on facet values, whatever the client asks for
+    private static final int MAX_FACET_SIZE = 100;
+
     private final ArtifactRepository artifactRepository;
-    private final MongoTemplate mongoTemplate;
+    private final ArtifactSearchIndexService searchIndexService;
+    private final ArtifactVisibilityService visibilityService;
+    private final ArtifactSuggestionService suggestionService;
+    private final ArtifactSearchCacheService searchCacheService;
+    private final int defaultFacetSize;
 
     @Autowired
-    public ArtifactServiceImpl(ArtifactRepository artifactRepository, MongoTemplate mongoTemplate) {
+    public ArtifactServiceImpl(ArtifactRepository artifactRepository,
+                               ArtifactSearchIndexService searchIndexService,
+                               ArtifactVisibilityService visibilityService,
+                               ArtifactSuggestionService suggestionService,
+                               ArtifactSearchCacheService searchCacheService,
+                               @Value("${artifact.search.facet-size:10}") int defaultFacetSize) {
         this.artifactRepository = artifactRepository;
-        this.mongoTemplate = mongoTemplate;
+        this.searchIndexService = searchIndexService;
+        this.visibilityService = visibilityService;
+        this.suggestionService = suggestionService;
+        this.searchCacheService = searchCacheService;
+        this.defaultFacetSize = defaultFacetSize;
     }
 
     @Override
     public Page<Artifact> searchArtifacts(String anyField, String title, String category, String culture,
                                           String department, String period, String medium, String artistName,
                                           String tags, LocalDate fromDate, LocalDate toDate,
+                                          Integer yearFrom, Integer yearTo,
                                           String locationQuery, Double latitude, Double longitude, Double radius,
-                                          String city, String country, String sortBy, Pageable pageable) {
+                                          String city, String country, Map<String, MatchMode> matchModes,
+                                          String sortBy, Pageable pageable) {
+        // Proximity results carry a per-request distance that the ID-only cache can't restore
+        if (latitude != null && longitude != null) {
+            return runSearch(anyField, title, category, culture, department, period, medium, artistName, tags,
+                    fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius, city, country,
+                    matchModes, sortBy, pageable);
+        }
+
+        ArtifactSearchCacheService.Key key = ArtifactSearchCacheService.Key.of(
+                anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
+                yearFrom, yearTo,
+                locationQuery, city, country, matchModes == null ? Map.of() : Map.copyOf(matchModes), sortBy,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+
+        // The search that fills the cache hands its documents back directly; only later hits reload them
+        AtomicReference<Page<Artifact>> computed = new AtomicReference<>();
+        ArtifactSearchCacheService.CachedPage cached = searchCacheService.get(key, () -> {
+            Page<Artifact> page = runSearch(anyField, title, category, culture, department, period, medium,
+                    artistName, tags, fromDate, toDate, yearFrom, yearTo, locationQuery, latitude, longitude, radius,
+                    city, country, matchModes, sortBy, pageable);
+            computed.set(page);
+            return new ArtifactSearchCacheService.CachedPage(
+                    page.getContent().stream().map(Artifact::getId).toList(), page.getTotalElements());
+        });
+        if (computed.get() != null) {
+            return computed.get();
+        }
+        return new PageImpl<>(loadInOrder(cached.ids()), pageable, cached.total());
+    }
+
+    private Page<Artifact> runSearch(String anyField, String title, String category, String culture,
+                                     String department, String period, String medium, String artistName,
+                                     String tags, LocalDate fromDate, LocalDate toDate,
+                                     Integer yearFrom, Integer yearTo,
+                                     String locationQuery, Double latitude, Double longitude, Double radius,
+                                     String city, String country, Map<String, MatchMode> matchModes,
+                                     String sortBy, Pageable pageable) {
+        // Plain keyword searches ranked by relevance can be answered from the in-process index
+        boolean keywordOnly = Stream.of(title, category, culture, department, period, medium, artistName, tags,
+                        locationQuery, city, country).allMatch(value -> value == null || value.isBlank())
+                && fromDate == null && toDate == null && yearFrom == null && yearTo == null
+                && latitude == null && longitude == null
+                && (sortBy == null || sortBy.isBlank() || "best_match".equals(sortBy))
+                && pageable.getSort().isUnsorted();
+
+        if (keywordOnly) {
+            Page<Artifact> indexed = searchIndex(anyField, pageable);
+            if (indexed != null) return indexed;
+        }
+
         return artifactRepository.searchArtifacts(
             anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
-            locationQuery, latitude, longitude, radius, city, country, sortBy, pageable
+            yearFrom, yearTo,
+            locationQuery, latitude, longitude, radius, city, country, matchModes, sortBy, pageable
         );
     }
     
+    @Override
+    public FacetedSearchResult<Artifact> facetedSearch(String anyField, String title, String category, String culture,
+                                                       String department, String period, String medium,
+                                                       String artistName, String tags, LocalDate fromDate,
+                                                       LocalDate toDate, Integer yearFrom, Integer yearTo,
+                                                       String locationQuery, Double latitude, Double longitude,
+                                                       Double radius, String city, String country,
+                                                       Map<String, MatchMode> matchModes, String sortBy,
+                                                       Pageable pageable, Integer facetSize) {
+        int size = facetSize == null ? defaultFacetSize : Math.max(1, Math.min(facetSize, MAX_FACET_SIZE));
+        return artifactRepository.facetedSearch(
+            anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
+            yearFrom, yearTo,
+            locationQuery, latitude, longitude, radius, city, country, matchModes, sortBy, pageable, size
+        );
+    }
+
     @Override
     public Page<Artifact> globalSearch(String search, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            Page<Artifact> indexed = searchIndex(search, pageable);
+            if (indexed != null) return indexed;
+        }
         return artifactRepository.globalSearch(search, pageable);
     }
 
-    // Add methods for fetching distinct values using MongoTemplate
-    public List<String> getDistinctCategories() {
-        return mongoTemplate.findDistinct(new Query(), "category", Artifact.class, String.class)
-                .stream()
-                .filter(category -> category != null && !category.trim().isEmpty())
-                .sorted()
+    @Override
+    public CursorPage<Artifact> scrollArtifacts(String anyField, String title, String category, String culture,
+                                                String department, String period, String medium, String artistName,
+                                                String tags, LocalDate fromDate, LocalDate toDate,
+                                                Integer yearFrom, Integer yearTo,
+                                                String locationQuery, Double latitude, Double longitude, Double radius,
+                                                String city, String country, Map<String, MatchMode> matchModes,
+                                                String sortBy, String cursor, int size, CursorPage.Count count) {
+        return artifactRepository.scrollArtifacts(
+            anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
+            yearFrom, yearTo,
+            locationQuery, latitude, longitude, radius, city, country, matchModes, sortBy, cursor, size, count
+        );
+    }
+
+    @Override
+    public Stream<Artifact> streamArtifacts(String anyField, String title, String category, String culture,
+                                            String department, String period, String medium, String artistName,
+                                            String tags, LocalDate fromDate, LocalDate toDate,
+                                            Integer yearFrom, Integer yearTo,
+                                            String locationQuery, Double latitude, Double longitude, Double radius,
+                                            String city, String country, Map<String, MatchMode> matchModes,
+                                            String sortBy) {
+        return artifactRepository.streamArtifacts(
+            anyField, title, category, culture, department, period, medium, artistName, tags, fromDate, toDate,
+            yearFrom, yearTo,
+            locationQuery, latitude, longitude, radius, city, country, matchModes, sortBy
+        );
+    }
+
+    /**
+     * Resolves the ranked page of IDs from the in-process index and loads only those
+     * documents. Returns null when the index is off or still building, or when it finds
+     * nothing, so the caller can fall back to MongoDB (whose regex fallback also
+     * matches inside words).
+     */
+    private Page<Artifact> searchIndex(String keywords, Pageable pageable) {
+        if (keywords == null || keywords.isBlank() || !searchIndexService.isReady()) {
+            return null;
+        }
+
+        int end = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        InvertedIndex.Hits hits = searchIndexService.search(keywords, end, id -> !visibilityService.isHidden(id));
+        if (hits.total() == 0) {
+            return null;
+        }
+
+        List<String> pageIds = hits.ids().subList((int) Math.min(pageable.getOffset(), hits.ids().size()), hits.ids().size());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        return new PageImpl<>(loadInOrder(pageIds), pageable, hits.total());
+    }
+
+    // Loads the documents for a ranked ID list, keeping the ranking; IDs deleted since are skipped
+    private List<Artifact> loadInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return artifactRepository.findCardsByIds(ids).stream()
+                .sorted(Comparator.comparing(artifact -> rank.get(artifact.getId())))
                 .toList();
     }
 
+    // Distinct values come from the cached single-pass aggregation (see ArtifactSuggestionService)
+    @Override
+    public List<String> getDistinctCategories() {
+        return suggestionService.get().categories();
+    }
+
+    @Override
     public List<String> getDistinctCultures() {
-        return mongoTemplate.findDistinct(new Query(), "culture", Artifact.class, String.class)
-                .stream()
-                .filter(culture -> culture != null && !culture.trim().isEmpty())
-                .sorted()
-                .toList();
+        return suggestionService.get().cultures();
     }
 
+    @Override
     public List<String> getDistinctDepartments() {
-        return mongoTemplate.findDistinct(new Query(), "department", Artifact.class, String.class)
-                .stream()
-                .filter(department -> department != null && !department.trim().isEmpty())
-                .sorted()
-                .toList();
+        return suggestionService.get().departments();
     }
 
+    @Override
     public List<String> getDistinctPeriods() {
-        return mongoTemplate.findDistinct(new Query(), "period", Artifact.class, String.class)
-                .stream()
-                .filter(period -> period != null && !period.trim().isEmpty())
-                .sorted()
-                .toList();
+        return suggestionService.get().periods();
     }
-}
\ No newline at end of file
+}
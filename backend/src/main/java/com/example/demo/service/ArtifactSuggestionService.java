@@ -0,0 +1,132 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.example.demo.entity.Artifact;
+
+/**
+ * Distinct category, culture, department and period values for the search
+ * dropdowns, held in memory. All four lists come from a single $group pass over
+ * the artifacts collection. Creating, editing or deleting an artifact calls
+ * {@link #markDirty()} (see {@link ArtifactChangeService}); the next refresh tick rebuilds the lists, and an
+ * age limit catches documents changed outside the application.
+ *
+ * Each snapshot carries an ETag and Last-Modified so clients can revalidate
+ * without downloading the lists again. Both only change when the lists do.
+ */
+@Service
+public class ArtifactSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactSuggestionService.class);
+
+    public record Suggestions(List<String> categories, List<String> cultures, List<String> departments,
+                              List<String> periods, String etag, Instant lastModified) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final long maxAgeMs;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile Suggestions suggestions = new Suggestions(List.of(), List.of(), List.of(), List.of(),
+            etag(List.of(List.of(), List.of(), List.of(), List.of())), Instant.EPOCH);
+    private volatile long builtAtMs;
+
+    @Autowired
+    public ArtifactSuggestionService(MongoTemplate mongoTemplate,
+                                     @Value("${artifact.suggestions.max-age-ms:3600000}") long maxAgeMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public Suggestions get() {
+        // Serve the current lists; only the very first request after startup waits for a build
+        if (builtAtMs == 0) {
+            recompute();
+        }
+        return suggestions;
+    }
+
+    /** Called after an artifact is saved or deleted; the next refresh tick rebuilds the lists. */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recompute();
+    }
+
+    @Scheduled(fixedDelayString = "${artifact.suggestions.refresh-interval-ms:10000}")
+    public void refreshIfStale() {
+        boolean expired = System.currentTimeMillis() - builtAtMs > maxAgeMs;
+        if (dirty.get() || expired) {
+            recompute();
+        }
+    }
+
+    public synchronized void recompute() {
+        long start = System.currentTimeMillis();
+        dirty.set(false);
+
+        Document group = new Document("$group", new Document("_id", null)
+                .append("categories", new Document("$addToSet", "$category"))
+                .append("cultures", new Document("$addToSet", "$culture"))
+                .append("departments", new Document("$addToSet", "$department"))
+                .append("periods", new Document("$addToSet", "$period")));
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Artifact.class))
+                .aggregate(List.of(group))
+                .first();
+
+        List<String> categories = values(result, "categories");
+        List<String> cultures = values(result, "cultures");
+        List<String> departments = values(result, "departments");
+        List<String> periods = values(result, "periods");
+
+        String etag = etag(List.of(categories, cultures, departments, periods));
+        Suggestions previous = suggestions;
+        if (!etag.equals(previous.etag()) || previous.lastModified().equals(Instant.EPOCH)) {
+            // HTTP dates have second precision
+            suggestions = new Suggestions(categories, cultures, departments, periods, etag,
+                    Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+        builtAtMs = System.currentTimeMillis();
+        logger.debug("Artifact suggestions rebuilt in {} ms", builtAtMs - start);
+    }
+
+    // Non-blank string values, sorted; $addToSet has already removed duplicates
+    private static List<String> values(Document result, String field) {
+        if (result == null) return List.of();
+        Collection<?> raw = result.get(field, Collection.class);
+        if (raw == null) return List.of();
+        return raw.stream()
+                .filter(value -> value instanceof String s && !s.trim().isEmpty())
+                .map(String.class::cast)
+                .sorted()
+                .toList();
+    }
+
+    private static String etag(List<List<String>> lists) {
+        StringBuilder content = new StringBuilder();
+        for (List<String> list : lists) {
+            list.forEach(value -> content.append(value).append('\n'));
+            content.append('\u0000');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.entity.ApplicationStatus;
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.ArtifactVisibility;
+import com.example.demo.entity.UserArtifact;
+import com.example.demo.repository.UserArtifactRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory set of artifact IDs that must not appear in public search results,
+ * i.e. artifacts with at least one pending or rejected UserArtifact row.
+ *
+ * The set is rebuilt from Postgres at startup and then kept current by calling
+ * {@link #refresh(String)} wherever a UserArtifact status is written. Each change
+ * is also written to the artifact document's {@code visibility} field, which is
+ * what search filters on, and the latest submission's status to {@code reviewStatus},
+ * which the admin list filters on; {@link #reconcile()} repairs any drift in bulk.
+ */
+@Service
+public class ArtifactVisibilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactVisibilityService.class);
+
+    private static final Set<ApplicationStatus> HIDDEN_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(ApplicationStatus.pending, ApplicationStatus.rejected));
+
+    // Documents per cursor batch and per bulk write during reconcile
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserArtifactRepository userArtifactRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ArtifactAutocompleteService artifactAutocompleteService;
+    private final ArtifactSearchCacheService artifactSearchCacheService;
+    private final Set<String> hiddenArtifactIds = ConcurrentHashMap.newKeySet();
+    // Bumped whenever the hidden set changes so snapshot holders (the leaderboard) can tell they're stale
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public ArtifactVisibilityService(UserArtifactRepository userArtifactRepository, MongoTemplate mongoTemplate,
+                                     ArtifactAutocompleteService artifactAutocompleteService,
+                                     ArtifactSearchCacheService artifactSearchCacheService) {
+        this.userArtifactRepository = userArtifactRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.artifactAutocompleteService = artifactAutocompleteService;
+        this.artifactSearchCacheService = artifactSearchCacheService;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+        // Search filters on visibility == visible, so documents must be backfilled before serving
+        reconcile();
+    }
+
+    public void rebuild() {
+        Set<String> fresh = ConcurrentHashMap.newKeySet();
+        fresh.addAll(userArtifactRepository.findArtifactIdsByStatusIn(HIDDEN_STATUSES));
+
+        boolean changed = hiddenArtifactIds.retainAll(fresh);
+        changed |= hiddenArtifactIds.addAll(fresh);
+        if (changed) version.incrementAndGet();
+        logger.info("Visibility index rebuilt: {} hidden artifacts", hiddenArtifactIds.size());
+    }
+
+    /**
+     * Brings every artifact document's visibility and reviewStatus fields in line with
+     * the hidden set and the latest submissions in Postgres. The documents' current
+     * values are streamed and only the ones that differ are rewritten, in bulk batches,
+     * so no list of artifact IDs ever goes into a query.
+     */
+    public void reconcile() {
+        Map<String, ApplicationStatus> latest = new HashMap<>();
+        for (Object[] row : userArtifactRepository.findAllLatestStatuses()) {
+            latest.put((String) row[0], (ApplicationStatus) row[1]);
+        }
+
+        Query query = new Query();
+        query.fields().include("visibility", "reviewStatus");
+        query.cursorBatchSize(BATCH_SIZE);
+        String collection = mongoTemplate.getCollectionName(Artifact.class);
+        List<Pair<Query, UpdateDefinition>> batch = new ArrayList<>();
+        long markedHidden = 0, markedVisible = 0, reviewStatuses = 0, updated = 0;
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                String id = document.getString("_id");
+                ArtifactVisibility visibility = hiddenArtifactIds.contains(id)
+                        ? ArtifactVisibility.hidden : ArtifactVisibility.visible;
+                ApplicationStatus status = latest.get(id);
+                boolean visibilityStale = !visibility.name().equals(document.getString("visibility"));
+                boolean statusStale = !Objects.equals(status == null ? null : status.name(), document.getString("reviewStatus"));
+                if (!visibilityStale && !statusStale) continue;
+
+                Update update = statusStale ? reviewStatusUpdate(status) : new Update();
+                if (statusStale) reviewStatuses++;
+                if (visibilityStale) {
+                    update.set("visibility", visibility);
+                    if (visibility == ArtifactVisibility.hidden) markedHidden++;
+                    else markedVisible++;
+                }
+                // Matches the values just read, so a refresh that lands meanwhile isn't overwritten
+                batch.add(Pair.of(Query.query(Criteria.where("_id").is(id)
+                        .and("visibility").is(document.get("visibility"))
+                        .and("reviewStatus").is(document.get("reviewStatus"))), update));
+                if (batch.size() == BATCH_SIZE) {
+                    updated += writeBatch(collection, batch);
+                }
+            }
+        }
+        updated += writeBatch(collection, batch);
+        logger.info("Visibility reconciled: {} documents marked hidden, {} marked visible, {} review statuses fixed ({} updated)",
+                markedHidden, markedVisible, reviewStatuses, updated);
+    }
+
+    private int writeBatch(String collection, List<Pair<Query, UpdateDefinition>> batch) {
+        if (batch.isEmpty()) return 0;
+        int modified = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection)
+                .updateOne(batch)
+                .execute()
+                .getModifiedCount();
+        batch.clear();
+        return modified;
+    }
+
+    // Never-submitted artifacts carry no reviewStatus, which the not_submitted filter matches as null
+    private static Update reviewStatusUpdate(ApplicationStatus status) {
+        return status == null ? new Update().unset("reviewStatus") : Update.update("reviewStatus", status);
+    }
+
+    @Scheduled(cron = "${artifact.visibility.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        rebuild();
+        reconcile();
+    }
+
+    public boolean isHidden(String artifactId) {
+        return artifactId != null && hiddenArtifactIds.contains(artifactId);
+    }
+
+    /** Changes whenever an artifact becomes hidden or visible again. */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Read-only live view of the hidden IDs. */
+    public Set<String> getHiddenArtifactIds() {
+        return Collections.unmodifiableSet(hiddenArtifactIds);
+    }
+
+    /**
+     * Re-evaluates one artifact after its UserArtifact rows changed. Inside a
+     * transaction the lookup is deferred until commit so a rollback can't leave
+     * the index out of step with the database.
+     */
+    public void refresh(String artifactId) {
+        if (artifactId == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(artifactId);
+                }
+            });
+        } else {
+            reload(artifactId);
+        }
+    }
+
+    private void reload(String artifactId) {
+        ArtifactVisibility visibility;
+        boolean changed;
+        if (userArtifactRepository.existsByArtifactIdAndStatusIn(artifactId, HIDDEN_STATUSES)) {
+            changed = hiddenArtifactIds.add(artifactId);
+            visibility = ArtifactVisibility.hidden;
+        } else {
+            changed = hiddenArtifactIds.remove(artifactId);
+            visibility = ArtifactVisibility.visible;
+        }
+        if (changed) version.incrementAndGet();
+
+        ApplicationStatus reviewStatus = userArtifactRepository.findTopByArtifactIdOrderBySavedAtDesc(artifactId)
+                .map(UserArtifact::getStatus)
+                .orElse(null);
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(artifactId)),
+                reviewStatusUpdate(reviewStatus).set("visibility", visibility),
+                Artifact.class);
+        // Accepted artifacts start showing up in completions, rejected ones drop out
+        artifactAutocompleteService.refresh(artifactId);
+        artifactSearchCacheService.invalidate();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.util.PeriodNormalizer;
+
+/**
+ * Backfills the derived yearFrom/yearTo of artifacts written before the range
+ * existed, or by an older {@link PeriodNormalizer#VERSION}. New writes derive it in
+ * the entity setters; this catches up everything else, in the background once the
+ * application is ready, streaming the stale documents and updating them in bulk.
+ */
+@Service
+public class ArtifactYearRangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactYearRangeService.class);
+
+    // Updates sent per bulk write
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ArtifactSearchCacheService searchCacheService;
+    private final boolean backfillOnStartup;
+
+    @Autowired
+    public ArtifactYearRangeService(MongoTemplate mongoTemplate, ArtifactSearchCacheService searchCacheService,
+                                    @Value("${artifact.years.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.searchCacheService = searchCacheService;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (backfillOnStartup) {
+            new Thread(this::backfill, "artifact-year-backfill").start();
+        }
+    }
+
+    /**
+     * Derives the range of every artifact whose stored one is missing or stale.
+     *
+     * @return the number of artifacts updated
+     */
+    public synchronized long backfill() {
+        long start = System.currentTimeMillis();
+        Query query = Query.query(Criteria.where("yearsVersion").ne(PeriodNormalizer.VERSION));
+        query.fields().include("period", "exact_found_date");
+        query.cursorBatchSize(BATCH_SIZE);
+
+        long updated = 0;
+        long dated = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Artifact.class);
+        int pending = 0;
+        try (Stream<Artifact> artifacts = mongoTemplate.stream(query, Artifact.class)) {
+            for (Artifact artifact : (Iterable<Artifact>) artifacts::iterator) {
+                PeriodNormalizer.YearRange range = PeriodNormalizer.of(artifact.getPeriod(), artifact.getExact_found_date());
+                Update update = new Update().set("yearsVersion", PeriodNormalizer.VERSION);
+                if (range != null) {
+                    update.set("yearFrom", range.from()).set("yearTo", range.to());
+                    dated++;
+                } else {
+                    update.unset("yearFrom").unset("yearTo");
+                }
+                // Only if the inputs are still the ones read: a concurrent edit already derived its own range
+                bulk.updateOne(Query.query(Criteria.where("_id").is(artifact.getId())
+                        .and("period").is(artifact.getPeriod())
+                        .and("exact_found_date").is(artifact.getExact_found_date())), update);
+                if (++pending == BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Artifact.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                updated += bulk.execute().getModifiedCount();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Artifact year range backfill failed after {} artifacts", updated, e);
+        }
+
+        if (updated > 0) {
+            // Year filters and date sorts may now match differently
+            searchCacheService.invalidate();
+        }
+        logger.info("Artifact year ranges backfilled: {} updated ({} dated) in {} ms",
+                updated, dated, System.currentTimeMillis() - start);
+        return updated;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entity.Comment;
+import com.example.demo.repository.CommentReactionRepository;
+import com.example.demo.repository.CommentRepository;
+
+/**
+ * Owns comment reactions. Each add or remove is a single statement that changes the
+ * (comment_id, user_id) row and comment_tbl.reaction_count together, so a toggle
+ * never loads the comment's reactors and concurrent reactions can't lose counts.
+ * Thread pages ask once per page which comments the viewer has reacted to.
+ */
+@Service
+public class CommentReactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentReactionService.class);
+
+    // Keeps the IN list well below the PostgreSQL bind parameter limit
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final CommentReactionRepository reactionRepository;
+    private final CommentRepository commentRepository;
+    private final boolean reconcileOnStartup;
+
+    @Autowired
+    public CommentReactionService(CommentReactionRepository reactionRepository, CommentRepository commentRepository,
+                                  @Value("${comment.reactions.reconcile-on-startup:false}") boolean reconcileOnStartup) {
+        this.reactionRepository = reactionRepository;
+        this.commentRepository = commentRepository;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    // Transactional itself: the call to reconcile() below doesn't go through the proxy
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /** Adds the user's reaction; false when it was already there. */
+    @Transactional
+    public boolean react(Integer commentId, Integer userId) {
+        return reactionRepository.add(commentId, userId) > 0;
+    }
+
+    /** Removes the user's reaction; false when there was none. */
+    @Transactional
+    public boolean unreact(Integer commentId, Integer userId) {
+        return reactionRepository.remove(commentId, userId) > 0;
+    }
+
+    /** Flips the user's reaction and returns whether they now react. */
+    @Transactional
+    public boolean toggle(Integer commentId, Integer userId) {
+        if (reactionRepository.remove(commentId, userId) > 0) {
+            return false;
+        }
+        reactionRepository.add(commentId, userId);
+        return true;
+    }
+
+    /** The IDs among {@code commentIds} the user has reacted to; empty for anonymous viewers. */
+    public Set<Integer> reactedCommentIds(Integer userId, Collection<Integer> commentIds) {
+        if (userId == null || commentIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(commentIds));
+        ids.removeIf(Objects::isNull);
+
+        Set<Integer> reacted = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            reacted.addAll(reactionRepository.findReactedCommentIds(userId,
+                    ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()))));
+        }
+        return reacted;
+    }
+
+    /** Deletes a comment and its reactions in one transaction, so neither outlives the other. */
+    @Transactional
+    public void deleteComment(Comment comment) {
+        reactionRepository.deleteByCommentId(comment.getCommentId());
+        commentRepository.delete(comment);
+    }
+
+    /** Drops the reactions to every comment on the given artifact links, before the comments go. */
+    @Transactional
+    public void deleteForUserArtifacts(List<Integer> userArtifactIds) {
+        if (!userArtifactIds.isEmpty()) {
+            reactionRepository.deleteByUserArtifactIds(userArtifactIds);
+        }
+    }
+
+    /**
+     * Sets reaction counts written before the counter existed from the reaction rows.
+     * Every later change keeps the two in step, so this is a one-off run at startup
+     * behind {@code comment.reactions.reconcile-on-startup}.
+     */
+    @Transactional
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int fixed = reactionRepository.reconcileCounts();
+        logger.info("Comment reaction counts reconciled: {} fixed in {} ms", fixed, System.currentTimeMillis() - start);
+    }
+}
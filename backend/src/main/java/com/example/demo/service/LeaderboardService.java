@@ -0,0 +1,209 @@
+package com.example.demo.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Artifact;
+import com.example.demo.entity.RatingSummary;
+import com.example.demo.repository.RatingRepository;
+import com.example.demo.repository.RatingSummaryRepository;
+
+/**
+ * Top-rated artifacts, overall and per category, held in memory.
+ *
+ * Artifacts are ranked by a Bayesian average, (C * m + sum) / (C + count), where m
+ * is the mean of all ratings and C the prior weight. A single 5-star rating
+ * therefore no longer outranks hundreds of 4.9s. With a half-life configured,
+ * older ratings weigh exponentially less. The snapshot is rebuilt in the
+ * background when ratings changed or it got too old; reads never touch a database.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int MONGO_BATCH_SIZE = 500;
+
+    public record Entry(String artifactId, double score, double averageRating, long totalRatings) {}
+
+    private record Snapshot(List<Entry> overall, Map<String, List<Entry>> byCategory, Instant builtAt) {}
+
+    // Ratings aggregated per artifact; weightedSum/weight equal sum/count without decay
+    private record Scored(String artifactId, double weightedSum, double weight, double averageRating, long totalRatings) {}
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final RatingRepository ratingRepository;
+    private final ArtifactVisibilityService visibilityService;
+    private final MongoTemplate mongoTemplate;
+
+    private final int size;
+    private final double priorWeight;
+    private final double halfLifeDays;
+    private final long maxAgeMs;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Visibility version the current snapshot was filtered against
+    private volatile long visibilityVersion = -1;
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of(), Instant.EPOCH);
+
+    @Autowired
+    public LeaderboardService(RatingSummaryRepository ratingSummaryRepository, RatingRepository ratingRepository,
+                              ArtifactVisibilityService visibilityService, MongoTemplate mongoTemplate,
+                              @Value("${leaderboard.size:50}") int size,
+                              @Value("${leaderboard.prior-weight:5}") double priorWeight,
+                              @Value("${leaderboard.half-life-days:0}") double halfLifeDays,
+                              @Value("${leaderboard.max-age-ms:3600000}") long maxAgeMs) {
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.ratingRepository = ratingRepository;
+        this.visibilityService = visibilityService;
+        this.mongoTemplate = mongoTemplate;
+        this.size = size;
+        this.priorWeight = priorWeight;
+        this.halfLifeDays = halfLifeDays;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /** Best {@code limit} entries overall, or within a category when one is given. */
+    public List<Entry> top(int limit, String category) {
+        Snapshot current = snapshot;
+        List<Entry> entries = (category == null || category.isBlank())
+                ? current.overall()
+                : current.byCategory().getOrDefault(categoryKey(category), List.of());
+        // Artifacts hidden since the last rebuild drop out straight away; the next tick backfills the gap
+        return entries.stream()
+                .filter(entry -> !visibilityService.isHidden(entry.artifactId()))
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /** Called after a rating commit; the next refresh tick rebuilds the snapshot. */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recompute();
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.refresh-interval-ms:30000}")
+    public void refreshIfStale() {
+        // Decay ages the ranking even without new ratings; accepted or hidden artifacts change its membership
+        boolean expired = System.currentTimeMillis() - snapshot.builtAt().toEpochMilli() > maxAgeMs;
+        boolean visibilityChanged = visibilityService.getVersion() != visibilityVersion;
+        if (dirty.get() || expired || visibilityChanged) {
+            recompute();
+        }
+    }
+
+    public synchronized void recompute() {
+        long start = System.currentTimeMillis();
+        dirty.set(false);
+        visibilityVersion = visibilityService.getVersion();
+
+        List<Scored> scored = loadScores();
+        double totalWeight = scored.stream().mapToDouble(Scored::weight).sum();
+        double globalMean = totalWeight > 0
+                ? scored.stream().mapToDouble(Scored::weightedSum).sum() / totalWeight
+                : 0.0;
+
+        List<Entry> ranked = new ArrayList<>(scored.size());
+        for (Scored s : scored) {
+            double score = (priorWeight * globalMean + s.weightedSum()) / (priorWeight + s.weight());
+            ranked.add(new Entry(s.artifactId(), score, s.averageRating(), s.totalRatings()));
+        }
+        ranked.sort(Comparator.comparingDouble(Entry::score).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::totalRatings).reversed())
+                .thenComparing(Entry::artifactId));
+
+        List<Entry> overall = new ArrayList<>();
+        Map<String, List<Entry>> byCategory = new HashMap<>();
+
+        // Walk the ranking in batches, resolving categories and skipping hidden or deleted artifacts
+        for (int from = 0; from < ranked.size(); from += MONGO_BATCH_SIZE) {
+            List<Entry> batch = ranked.subList(from, Math.min(from + MONGO_BATCH_SIZE, ranked.size()));
+            Map<String, String> categories = loadCategories(batch.stream().map(Entry::artifactId).toList());
+
+            for (Entry entry : batch) {
+                if (!categories.containsKey(entry.artifactId()) || visibilityService.isHidden(entry.artifactId())) {
+                    continue;
+                }
+                if (overall.size() < size) {
+                    overall.add(entry);
+                }
+                String category = categories.get(entry.artifactId());
+                if (category != null) {
+                    List<Entry> list = byCategory.computeIfAbsent(category, c -> new ArrayList<>());
+                    if (list.size() < size) list.add(entry);
+                }
+            }
+        }
+
+        byCategory.replaceAll((category, list) -> List.copyOf(list));
+        snapshot = new Snapshot(List.copyOf(overall), Map.copyOf(byCategory), Instant.now());
+        logger.info("Leaderboard rebuilt from {} rated artifacts ({} categories) in {} ms",
+                scored.size(), byCategory.size(), System.currentTimeMillis() - start);
+    }
+
+    private List<Scored> loadScores() {
+        List<Scored> scored = new ArrayList<>();
+        if (halfLifeDays > 0) {
+            double decayPerDay = Math.log(2) / halfLifeDays;
+            for (Object[] row : ratingRepository.findDecayedRatingTotals(decayPerDay)) {
+                long count = ((Number) row[4]).longValue();
+                scored.add(new Scored((String) row[0],
+                        ((Number) row[1]).doubleValue(),
+                        ((Number) row[2]).doubleValue(),
+                        count > 0 ? ((Number) row[3]).doubleValue() / count : 0.0,
+                        count));
+            }
+        } else {
+            for (RatingSummary row : ratingSummaryRepository.findAll()) {
+                if (row.getRatingCount() <= 0) continue;
+                scored.add(new Scored(row.getArtifactId(), row.getRatingSum(), row.getRatingCount(),
+                        row.getAverageRating(), row.getRatingCount()));
+            }
+        }
+        return scored;
+    }
+
+    // Artifact ID -> lower-cased category (null value when uncategorised); absent when the artifact is gone
+    private Map<String, String> loadCategories(List<String> artifactIds) {
+        Query query = Query.query(Criteria.where("_id").in(artifactIds));
+        query.fields().include("category");
+
+        Map<String, String> categories = new HashMap<>();
+        for (Document document : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Artifact.class))) {
+            String category = document.getString("category");
+            categories.put(document.getString("_id"), category == null || category.isBlank() ? null : categoryKey(category));
+        }
+        return categories;
+    }
+
+    private static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.dto.NotificationItem;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Registry of the open notification streams (Server-Sent Events) per user. An idle
+ * stream is an async request parked in the container, holding no thread; writes
+ * run on virtual threads, so a slow or dead client never blocks the request that
+ * created the notification. Clients reconnect by themselves when a stream times out.
+ *
+ * Events: {@code notification} with a {@link NotificationItem}, and {@code unread}
+ * with the absolute {@code {"count": n}} when the stream opens and whenever the
+ * user's unread count changes, so a reconnecting client can never drift.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushService.class);
+
+    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+    private final int maxPerUser;
+
+    @Autowired
+    public NotificationPushService(@Value("${notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${notifications.stream.max-per-user:5}") int maxPerUser) {
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Opens a stream for the user and sends it their current unread count, read only
+     * after the stream is registered so no later change can be missed.
+     *
+     * @return null when the user already has the maximum number of open streams; the
+     *         extra one is refused rather than evicting another tab, which would just
+     *         reconnect and evict the next
+     */
+    public SseEmitter subscribe(Integer userId, LongSupplier unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        boolean[] added = new boolean[1];
+        emitters.compute(userId, (id, existing) -> {
+            List<SseEmitter> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            if (list.size() < maxPerUser) {
+                list.add(emitter);
+                added[0] = true;
+            }
+            return list.isEmpty() ? null : list;
+        });
+        if (!added[0]) {
+            return null;
+        }
+
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(() -> unregister(userId, emitter));
+        emitter.onError(e -> unregister(userId, emitter));
+
+        try {
+            emitter.send(unreadEvent(unreadCount.getAsLong()));
+        } catch (IOException e) {
+            unregister(userId, emitter);
+        }
+        return emitter;
+    }
+
+    public void pushNotification(Integer userId, NotificationItem notification) {
+        push(userId, () -> SseEmitter.event().name("notification").data(notification));
+    }
+
+    public void pushUnreadCount(Integer userId, long count) {
+        push(userId, () -> unreadEvent(count));
+    }
+
+    public boolean hasSubscribers(Integer userId) {
+        return emitters.containsKey(userId);
+    }
+
+    /** Users with at least one open stream. */
+    public Set<Integer> subscriberIds() {
+        return Set.copyOf(emitters.keySet());
+    }
+
+    private static SseEmitter.SseEventBuilder unreadEvent(long count) {
+        return SseEmitter.event().name("unread").data(Map.of("count", count));
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal dead ones
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                sender.execute(() -> send(userId, emitter, SseEmitter.event().comment("ping")));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        sender.shutdownNow();
+    }
+
+    // Events are built per emitter: a builder is consumed by the send
+    private void push(Integer userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            sender.execute(() -> send(userId, emitter, event.get()));
+        }
+    }
+
+    private void send(Integer userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the request
+            logger.debug("Dropping notification stream of user {}: {}", userId, e.getMessage());
+            unregister(userId, emitter);
+        }
+    }
+
+    private void unregister(Integer userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.repository.NotificationRepository;
+
+/**
+ * Keeps notification_tbl small for the inbox queries: nightly, deletes read
+ * notifications past their retention and unread ones past a longer one, in short
+ * batches (one transaction each) so the sweep never holds locks on the hot table
+ * for long. A retention of 0 days keeps those notifications forever.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    // Rows deleted per statement
+    private static final int BATCH_SIZE = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int readDays;
+    private final int unreadDays;
+
+    @Autowired
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        NotificationService notificationService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notifications.retention.read-days:90}") int readDays,
+                                        @Value("${notifications.retention.unread-days:365}") int unreadDays) {
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readDays = readDays;
+        this.unreadDays = unreadDays;
+    }
+
+    /** @return the number of notifications deleted */
+    @Scheduled(cron = "${notifications.retention.cron:0 30 4 * * *}")
+    public long purge() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        long read = readDays > 0 ? deleteOlderThan(now.minusDays(readDays), false) : 0;
+        long unread = unreadDays > 0 ? deleteOlderThan(now.minusDays(unreadDays), true) : 0;
+        if (unread > 0) {
+            // Unread rows went away without deltas
+            notificationService.forgetUnreadCounts();
+        }
+        logger.info("Notification retention: {} read and {} expired unread deleted in {} ms",
+                read, unread, System.currentTimeMillis() - start);
+        return read + unread;
+    }
+
+    private long deleteOlderThan(LocalDateTime before, boolean includeUnread) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status ->
+                    notificationRepository.deleteOlderThan(before, includeUnread, BATCH_SIZE));
+            deleted += batch;
+        } while (batch == BATCH_SIZE);
+        return deleted;
+    }
+}
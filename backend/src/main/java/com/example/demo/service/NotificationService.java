@@ -0,0 +1,218 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.NotificationItem;
+import com.example.demo.entity.Notification;
+import com.example.demo.repository.NotificationRepository;
+import com.example.demo.util.PageCursor;
+
+/**
+ * The one way notifications are created and marked read. Creating saves them and
+ * pushes each to the open streams of its recipient, with an unread delta; when
+ * called inside a transaction the push waits for the commit, so clients never see
+ * a notification that rolled back.
+ *
+ * Unread counts are cached per user: loaded with one indexed COUNT on first ask,
+ * then moved by the deltas of every create and read, and reloaded after the TTL so
+ * any drift from a race with a load is short-lived. Streams are always sent
+ * the resulting total, never a delta.
+ */
+@Service
+public class NotificationService {
+
+    private record UnreadCount(AtomicLong count, long loadedAt) {}
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPushService pushService;
+    private final long unreadTtlMs;
+    private final Map<Integer, UnreadCount> unreadCounts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationService(NotificationRepository notificationRepository, NotificationPushService pushService,
+                               @Value("${notifications.unread-count.ttl-ms:600000}") long unreadTtlMs) {
+        this.notificationRepository = notificationRepository;
+        this.pushService = pushService;
+        this.unreadTtlMs = unreadTtlMs;
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    public Notification send(Notification notification) {
+        return sendAll(List.of(notification)).get(0);
+    }
+
+    public List<Notification> sendAll(List<Notification> notifications) {
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        afterCommit(() -> saved.forEach(this::publish));
+        return saved;
+    }
+
+    /**
+     * Marks one of the user's notifications read.
+     *
+     * @return false when it was already read
+     * @throws IllegalArgumentException when there is no such notification
+     * @throws SecurityException when it belongs to someone else
+     */
+    @Transactional
+    public boolean markRead(Integer userId, Integer notiId) {
+        if (notificationRepository.markRead(notiId, userId) > 0) {
+            afterCommit(() -> unreadChanged(userId, -1));
+            return true;
+        }
+        Integer recipientId = notificationRepository.findRecipientId(notiId)
+                .orElseThrow(() -> new IllegalArgumentException("Notification not found"));
+        if (!recipientId.equals(userId)) {
+            throw new SecurityException("Unauthorized");
+        }
+        return false;
+    }
+
+    /** @return the number of notifications that were unread */
+    @Transactional
+    public int markAllRead(Integer userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        afterCommit(() -> unreadChanged(userId, -updated));
+        return updated;
+    }
+
+    /** Marks read the user's notifications created at or before {@code before}; returns how many were unread. */
+    @Transactional
+    public int markReadBefore(Integer userId, LocalDateTime before) {
+        int updated = notificationRepository.markReadBefore(userId, before);
+        afterCommit(() -> unreadChanged(userId, -updated));
+        return updated;
+    }
+
+    /** Deletes the user's read notifications created before {@code before}; returns how many. */
+    @Transactional
+    public int deleteReadBefore(Integer userId, LocalDateTime before) {
+        return notificationRepository.deleteReadBefore(userId, before);
+    }
+
+    private void publish(Notification notification) {
+        Integer recipientId = notification.getRecipient().getUserId();
+        pushService.pushNotification(recipientId, NotificationItem.of(notification));
+        if (!notification.isRead()) {
+            unreadChanged(recipientId, 1);
+        }
+    }
+
+    // Moves the cached count, if loaded, and sends the user's open streams the new total
+    private void unreadChanged(Integer userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        unreadCounts.computeIfPresent(userId, (id, entry) -> {
+            entry.count().updateAndGet(count -> Math.max(0, count + delta));
+            return entry;
+        });
+        if (pushService.hasSubscribers(userId)) {
+            pushService.pushUnreadCount(userId, unreadCount(userId));
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    public long unreadCount(Integer userId) {
+        UnreadCount cached = unreadCounts.get(userId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt() < unreadTtlMs) {
+            return cached.count().get();
+        }
+
+        // Counted outside the map: inside compute() the query would hold the map's bin lock
+        UnreadCount loaded = new UnreadCount(
+                new AtomicLong(notificationRepository.countByRecipient_UserIdAndIsReadFalse(userId)), now);
+        // Replaces only the expired entry seen above; a count another caller loaded meanwhile wins
+        return unreadCounts.merge(userId, loaded, (current, fresh) -> current == cached ? fresh : current)
+                .count().get();
+    }
+
+    /**
+     * A page of the user's inbox, newest first, as flat rows.
+     *
+     * @throws IllegalArgumentException when the cursor was not produced by this method
+     */
+    public CursorPage<NotificationItem> inbox(Integer userId, boolean unreadOnly, String cursor, int size) {
+        // One row more than asked for tells whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<NotificationItem> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findInbox(userId, unreadOnly, limit);
+        } else {
+            Document after = PageCursor.decode(cursor);
+            LocalDateTime createdAt;
+            Integer notiId;
+            try {
+                createdAt = LocalDateTime.parse(after.getString("createdAt"));
+                notiId = after.getInteger("id");
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            rows = notificationRepository.findInboxAfter(userId, unreadOnly, createdAt, notiId, limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            NotificationItem last = rows.get(size - 1);
+            nextCursor = PageCursor.encode(new Document("createdAt", last.createdAt().toString())
+                    .append("id", last.notiId()));
+        }
+        return new CursorPage<>(rows, nextCursor, null, false);
+    }
+
+    /** Every notification of the user, newest first, as flat rows. */
+    public List<NotificationItem> all(Integer userId, boolean unreadOnly) {
+        return notificationRepository.findInbox(userId, unreadOnly, Limit.unlimited());
+    }
+
+    /**
+     * Forgets every cached count, after changes the deltas don't cover (retention
+     * deletes), and sends connected users their recounted total.
+     */
+    public void forgetUnreadCounts() {
+        unreadCounts.clear();
+        for (Integer userId : pushService.subscriberIds()) {
+            pushService.pushUnreadCount(userId, unreadCount(userId));
+        }
+    }
+
+    // Drops counts nobody asked for within the TTL
+    @Scheduled(fixedDelayString = "${notifications.unread-count.ttl-ms:600000}")
+    public void evictExpiredCounts() {
+        long now = System.currentTimeMillis();
+        unreadCounts.entrySet().removeIf(e -> now - e.getValue().loadedAt() >= unreadTtlMs);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted prefix completion over a compressed (radix) trie.
+ *
+ * Keys are folded, tokenized phrases (see {@link InvertedIndex#tokenize}), so
+ * "Edo period (1615-1868)" completes from "edo per". Each key keeps the display
+ * form it was first added with, the summed weight of every add, and the kinds of
+ * source (title, tag, ...) it came from. Every node also stores the highest weight
+ * in its subtree, which makes top-K a best-first walk that only opens branches able
+ * to beat what was already found: the cost follows K and the prefix length, not the
+ * number of keys.
+ */
+public final class CompletionTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    public record Completion(String text, double weight, Set<String> kinds) {}
+
+    private static final class Node {
+        // Edge label from the parent; children are sorted by the first char of theirs
+        String label;
+        Node[] children = NO_CHILDREN;
+        Terminal terminal;
+        double maxWeight;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Terminal {
+        final String display;
+        // Kind -> number of adds not yet removed
+        final Map<String, Integer> counts = new HashMap<>(2);
+        double weight;
+
+        Terminal(String display) {
+            this.display = display;
+        }
+    }
+
+    // Either a subtree still to expand or a key ready to emit, ordered by best reachable weight
+    private record Candidate(Node node, Terminal terminal, double weight) {}
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingDouble(Candidate::weight).reversed()
+            .thenComparing(candidate -> candidate.terminal() == null);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private int size;
+
+    /** Key form of a phrase: folded tokens joined by single spaces. */
+    public static String normalize(String text) {
+        return String.join(" ", InvertedIndex.tokenize(text));
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    public void add(String text, String kind, double weight) {
+        String key = normalize(text);
+        if (key.isEmpty()) return;
+
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                int index = childIndex(node, key.charAt(i));
+                if (index < 0) {
+                    Node leaf = new Node(key.substring(i));
+                    insertChild(node, -index - 1, leaf);
+                    node = leaf;
+                    path.add(node);
+                    break;
+                }
+
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge where the new key branches off
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children = new Node[] { child };
+                    middle.maxWeight = child.maxWeight;
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                i += common;
+                node = child;
+                path.add(node);
+            }
+
+            if (node.terminal == null) {
+                node.terminal = new Terminal(text.trim());
+                size++;
+            }
+            node.terminal.counts.merge(kind, 1, Integer::sum);
+            node.terminal.weight += weight;
+            updateWeights(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Takes back one earlier {@link #add} with the same text, kind and weight. */
+    public void remove(String text, String kind, double weight) {
+        String key = normalize(text);
+        if (key.isEmpty()) return;
+
+        lock.writeLock().lock();
+        try {
+            List<Node> path = findPath(key);
+            if (path == null) return;
+
+            Node node = path.get(path.size() - 1);
+            Terminal terminal = node.terminal;
+            if (terminal == null || !terminal.counts.containsKey(kind)) return;
+
+            terminal.counts.computeIfPresent(kind, (k, count) -> count > 1 ? count - 1 : null);
+            terminal.weight = Math.max(0, terminal.weight - weight);
+            if (terminal.counts.isEmpty()) {
+                node.terminal = null;
+                size--;
+                prune(path);
+            }
+            updateWeights(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children = NO_CHILDREN;
+            root.terminal = null;
+            root.maxWeight = 0;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    /** The {@code limit} heaviest keys starting with {@code prefix}, heaviest first. */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                int index = childIndex(node, key.charAt(i));
+                if (index < 0) return List.of();
+
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, key, i);
+                if (i + common == key.length()) {
+                    // The prefix ends on or inside this edge: everything below matches
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) return List.of();
+                i += common;
+                node = child;
+            }
+
+            List<Completion> results = new ArrayList<>(limit);
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+            queue.add(new Candidate(node, null, node.maxWeight));
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.terminal() != null) {
+                    Terminal terminal = candidate.terminal();
+                    results.add(new Completion(terminal.display, terminal.weight, Set.copyOf(terminal.counts.keySet())));
+                    continue;
+                }
+                Node current = candidate.node();
+                if (current.terminal != null) {
+                    queue.add(new Candidate(null, current.terminal, current.terminal.weight));
+                }
+                for (Node child : current.children) {
+                    queue.add(new Candidate(child, null, child.maxWeight));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- internals
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) return null;
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, i)) return null;
+            i += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Drops empty leaves and merges pass-through nodes back into their child, deepest first
+    private static void prune(List<Node> path) {
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node node = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (node.terminal != null) return;
+
+            if (node.children.length == 0) {
+                removeChild(parent, node);
+            } else if (node.children.length == 1) {
+                Node child = node.children[0];
+                node.label = node.label + child.label;
+                node.children = child.children;
+                node.terminal = child.terminal;
+                node.maxWeight = child.maxWeight;
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Path nodes bottom-up: own weight or the best child, whichever is higher
+    private static void updateWeights(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            double max = node.terminal != null ? node.terminal.weight : 0;
+            for (Node child : node.children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            node.maxWeight = max;
+        }
+    }
+
+    // Index of the child whose label starts with c, or -(insertion point) - 1
+    private static int childIndex(Node node, char c) {
+        int low = 0, high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = node.children[mid].label.charAt(0);
+            if (first < c) low = mid + 1;
+            else if (first > c) high = mid - 1;
+            else return mid;
+        }
+        return -low - 1;
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = Arrays.copyOf(node.children, node.children.length + 1);
+        System.arraycopy(children, index, children, index + 1, node.children.length - index);
+        children[index] = child;
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label.charAt(0));
+        if (index < 0) return;
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+}
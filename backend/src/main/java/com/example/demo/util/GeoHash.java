@@ -0,0 +1,52 @@
+package com.example.demo.util;
+
+/**
+ * Standard base-32 geohash encoding. A hash of precision p is the prefix of every
+ * longer hash inside the same cell, so grouping on a prefix buckets points into a
+ * regular grid.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {}
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0, value = 0;
+
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) { value = (value << 1) | 1; minLon = mid; } else { value <<= 1; maxLon = mid; }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) { value = (value << 1) | 1; minLat = mid; } else { value <<= 1; maxLat = mid; }
+            }
+            lonBit = !lonBit;
+
+            if (++bits == 5) {
+                hash.append(BASE32[value]);
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /** Width in degrees of longitude of a cell at the given precision. */
+    public static double cellWidth(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /** Height in degrees of latitude of a cell at the given precision. */
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+}
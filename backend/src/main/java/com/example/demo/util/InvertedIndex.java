@@ -0,0 +1,523 @@
+package com.example.demo.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Small in-memory full-text index with BM25 ranking.
+ *
+ * Documents are identified by a string ID and consist of a fixed number of weighted
+ * fields (each field may hold several values, e.g. tags). Terms are case and
+ * diacritic folded. Posting lists are primitive arrays sorted by an internal doc
+ * number, so clauses are combined with linear merges. Removed and replaced documents
+ * are tombstoned; once enough are dead the live ones are renumbered densely and the
+ * dead postings dropped, so memory follows the number of documents, not of edits.
+ *
+ * Query syntax: whitespace separated terms are ANDed, {@code term*} is a prefix
+ * query, {@code "two words"} is a phrase query, and the last bare term is treated
+ * as a prefix so results follow the user while they type.
+ */
+public final class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Position = field ordinal in the high bits, token offset in the low bits
+    private static final int FIELD_SHIFT = 24;
+    // Offset gap between values of a multi-valued field so phrases don't span two tags
+    private static final int VALUE_GAP = 16;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"?");
+
+    public record Hits(long total, List<String> ids) {
+        public static final Hits EMPTY = new Hits(0, List.of());
+    }
+
+    private final float[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docNumById = new HashMap<>();
+    private BitSet live = new BitSet();
+    private String[] docIds = new String[1024];
+    private float[] docLengths = new float[1024];
+    private int nextDoc;
+    private int liveDocs;
+    private int deadDocs;
+    private double totalLength;
+
+    public InvertedIndex(float... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    // ---------------------------------------------------------------- text folding
+
+    /** Lower-cases and strips diacritics, e.g. "Édo Périod" becomes "edo period". */
+    public static String fold(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(fold(text))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    /**
+     * Adds or replaces a document. {@code fieldValues.get(i)} holds the values of
+     * field {@code i}; missing trailing fields are treated as empty.
+     */
+    public void put(String id, List<? extends Collection<String>> fieldValues) {
+        Map<String, TermBuffer> buffers = new HashMap<>();
+        float length = 0;
+
+        for (int field = 0; field < fieldWeights.length && field < fieldValues.size(); field++) {
+            Collection<String> values = fieldValues.get(field);
+            if (values == null) continue;
+
+            int offset = 0;
+            for (String value : values) {
+                for (String token : tokenize(value)) {
+                    TermBuffer buffer = buffers.computeIfAbsent(token, t -> new TermBuffer());
+                    buffer.freq += fieldWeights[field];
+                    buffer.addPosition((field << FIELD_SHIFT) | offset++);
+                    length += fieldWeights[field];
+                }
+                offset += VALUE_GAP;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+
+            int doc = nextDoc++;
+            ensureDocCapacity(doc);
+            docIds[doc] = id;
+            docLengths[doc] = length;
+            docNumById.put(id, doc);
+            live.set(doc);
+            liveDocs++;
+            totalLength += length;
+
+            // doc is larger than every existing doc number, so appends keep postings sorted
+            buffers.forEach((term, buffer) ->
+                    terms.computeIfAbsent(term, t -> new Postings()).add(doc, buffer.freq, buffer.positions()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docNumById.clear();
+            live = new BitSet();
+            docIds = new String[1024];
+            docLengths = new float[1024];
+            nextDoc = liveDocs = deadDocs = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer doc = docNumById.remove(id);
+        if (doc == null) return;
+
+        // Tombstone only; postings are purged in bulk once enough docs are dead
+        live.clear(doc);
+        liveDocs--;
+        deadDocs++;
+        totalLength -= docLengths[doc];
+        docIds[doc] = null;
+
+        if (deadDocs > Math.max(1024, nextDoc / 4)) {
+            compactLocked();
+        }
+    }
+
+    // Renumbers the live docs densely in their current order, which keeps postings sorted
+    private void compactLocked() {
+        int capacity = Math.max(1024, liveDocs + liveDocs / 2);
+        String[] ids = new String[capacity];
+        float[] lengths = new float[capacity];
+        int[] renumbered = new int[nextDoc];
+        int next = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            renumbered[doc] = next;
+            ids[next] = docIds[doc];
+            lengths[next] = docLengths[doc];
+            docNumById.put(docIds[doc], next);
+            next++;
+        }
+
+        BitSet wasLive = live;
+        terms.values().removeIf(postings -> postings.retainLive(wasLive, renumbered) == 0);
+        live = new BitSet(capacity);
+        live.set(0, next);
+        docIds = ids;
+        docLengths = lengths;
+        nextDoc = next;
+        deadDocs = 0;
+    }
+
+    private void ensureDocCapacity(int doc) {
+        if (doc < docIds.length) return;
+        int capacity = Math.max(docIds.length * 2, doc + 1);
+        docIds = Arrays.copyOf(docIds, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+    }
+
+    // ---------------------------------------------------------------- queries
+
+    /**
+     * Returns the total number of accepted matches and the IDs of the best
+     * {@code topK} of them, highest score first.
+     */
+    public Hits search(String query, int topK, Predicate<String> accept) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty()) return Hits.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return Hits.EMPTY;
+
+            DocScores matches = null;
+            for (Clause clause : clauses) {
+                DocScores clauseScores = evaluate(clause);
+                matches = (matches == null) ? clauseScores : matches.intersect(clauseScores);
+                if (matches.size == 0) return Hits.EMPTY;
+            }
+            return collect(matches, topK, accept);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hits collect(DocScores matches, int topK, Predicate<String> accept) {
+        // Min-heap on score keeps the best topK; ties prefer older (smaller) doc numbers
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> {
+            int byScore = Float.compare(matches.scores[a[0]], matches.scores[b[0]]);
+            return byScore != 0 ? byScore : Integer.compare(matches.docs[b[0]], matches.docs[a[0]]);
+        });
+
+        long total = 0;
+        for (int i = 0; i < matches.size; i++) {
+            int doc = matches.docs[i];
+            if (!live.get(doc) || !accept.test(docIds[doc])) continue;
+            total++;
+            if (topK <= 0) continue;
+
+            heap.offer(new int[] { i });
+            if (heap.size() > topK) heap.poll();
+        }
+
+        String[] ids = new String[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = docIds[matches.docs[heap.poll()[0]]];
+        }
+        return new Hits(total, Arrays.asList(ids));
+    }
+
+    private DocScores evaluate(Clause clause) {
+        if (clause.phrase()) return phrase(clause.terms());
+        if (clause.prefix()) return prefix(clause.terms().get(0));
+        return term(clause.terms().get(0));
+    }
+
+    private DocScores term(String term) {
+        Postings postings = terms.get(term);
+        return postings == null ? DocScores.EMPTY : score(postings);
+    }
+
+    private DocScores score(Postings postings) {
+        // Document frequency over live docs only: tombstones stay in postings until compaction
+        int frequency = 0;
+        for (int i = 0; i < postings.size; i++) {
+            if (live.get(postings.docs[i])) frequency++;
+        }
+        if (frequency == 0) return DocScores.EMPTY;
+
+        double idf = Math.log(1 + (liveDocs - frequency + 0.5) / (frequency + 0.5));
+        double avgLength = totalLength / liveDocs;
+
+        DocScores result = new DocScores(frequency);
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (!live.get(doc)) continue;
+            float tf = postings.freqs[i];
+            double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            result.append(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+        }
+        return result;
+    }
+
+    private DocScores prefix(String prefix) {
+        // Pack (doc, score) into longs so the union of expansions is a primitive sort
+        long[] packed = new long[16];
+        int count = 0;
+
+        for (Postings postings : expansions(prefix)) {
+            DocScores scores = score(postings);
+            for (int i = 0; i < scores.size; i++) {
+                if (count == packed.length) packed = Arrays.copyOf(packed, count * 2);
+                packed[count++] = ((long) scores.docs[i] << 32) | (Float.floatToIntBits(scores.scores[i]) & 0xffffffffL);
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        // A document matching several expansions keeps its best one
+        DocScores result = new DocScores(count);
+        for (int i = 0; i < count; i++) {
+            int doc = (int) (packed[i] >>> 32);
+            float score = Float.intBitsToFloat((int) packed[i]);
+            if (result.size > 0 && result.docs[result.size - 1] == doc) {
+                result.scores[result.size - 1] = Math.max(result.scores[result.size - 1], score);
+            } else {
+                result.append(doc, score);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The terms starting with {@code prefix}. Past {@link #MAX_PREFIX_EXPANSIONS} only the
+     * ones in the most documents are kept, so a short prefix matches the common words
+     * rather than whichever come first alphabetically.
+     */
+    private Collection<Postings> expansions(String prefix) {
+        Collection<Postings> all = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+        if (all.size() <= MAX_PREFIX_EXPANSIONS) return all;
+
+        // Min-heap on document frequency holding the best expansions seen so far
+        PriorityQueue<Postings> frequent = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                (a, b) -> Integer.compare(a.size, b.size));
+        for (Postings postings : all) {
+            frequent.offer(postings);
+            if (frequent.size() > MAX_PREFIX_EXPANSIONS) frequent.poll();
+        }
+        return frequent;
+    }
+
+    private DocScores phrase(List<String> phraseTerms) {
+        Postings[] postings = new Postings[phraseTerms.size()];
+        DocScores candidates = null;
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = terms.get(phraseTerms.get(i));
+            if (postings[i] == null) return DocScores.EMPTY;
+            DocScores termScores = score(postings[i]);
+            candidates = (candidates == null) ? termScores : candidates.intersect(termScores);
+        }
+
+        DocScores result = new DocScores(candidates.size);
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.docs[i];
+            if (hasConsecutivePositions(postings, doc)) {
+                result.append(doc, candidates.scores[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasConsecutivePositions(Postings[] postings, int doc) {
+        int[][] positions = new int[postings.length][];
+        for (int i = 0; i < postings.length; i++) {
+            positions[i] = postings[i].positionsOf(doc);
+        }
+
+        outer:
+        for (int start : positions[0]) {
+            for (int i = 1; i < positions.length; i++) {
+                if (Arrays.binarySearch(positions[i], start + i) < 0) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------- parsing
+
+    private record Clause(List<String> terms, boolean prefix, boolean phrase) {}
+
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null || query.isBlank()) return clauses;
+
+        // Quoted segments become phrases; whatever is left is bare terms
+        StringBuilder rest = new StringBuilder();
+        Matcher matcher = PHRASE.matcher(query);
+        int last = 0;
+        while (matcher.find()) {
+            rest.append(query, last, matcher.start()).append(' ');
+            List<String> phraseTerms = tokenize(matcher.group(1));
+            if (phraseTerms.size() == 1) {
+                clauses.add(new Clause(phraseTerms, false, false));
+            } else if (!phraseTerms.isEmpty()) {
+                clauses.add(new Clause(phraseTerms, false, true));
+            }
+            last = matcher.end();
+        }
+        rest.append(query.substring(last));
+
+        // Search-as-you-type: the final bare word is probably still being typed
+        boolean lastIsPrefix = last < query.length() && !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        String[] chunks = rest.toString().trim().split("\\s+");
+        for (int c = 0; c < chunks.length; c++) {
+            List<String> chunkTerms = tokenize(chunks[c]);
+            boolean prefixChunk = chunks[c].endsWith("*") || (lastIsPrefix && c == chunks.length - 1);
+            for (int t = 0; t < chunkTerms.size(); t++) {
+                boolean prefix = prefixChunk && t == chunkTerms.size() - 1;
+                clauses.add(new Clause(List.of(chunkTerms.get(t)), prefix, false));
+            }
+        }
+        return clauses;
+    }
+
+    // ---------------------------------------------------------------- primitive structures
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] freqs = new float[4];
+        int[][] positions = new int[4][];
+        int size;
+
+        void add(int doc, float freq, int[] docPositions) {
+            if (size == docs.length) {
+                int capacity = size * 2;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            positions[size] = docPositions;
+            size++;
+        }
+
+        int[] positionsOf(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            return i >= 0 ? positions[i] : new int[0];
+        }
+
+        // Drops dead docs and maps the rest to their new numbers; returns how many are left
+        int retainLive(BitSet live, int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!live.get(docs[i])) continue;
+                docs[kept] = renumbered[docs[i]];
+                freqs[kept] = freqs[i];
+                positions[kept] = positions[i];
+                kept++;
+            }
+            Arrays.fill(positions, kept, size, null);
+            size = kept;
+            if (kept > 0 && kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, kept * 2);
+                freqs = Arrays.copyOf(freqs, kept * 2);
+                positions = Arrays.copyOf(positions, kept * 2);
+            }
+            return kept;
+        }
+    }
+
+    private static final class TermBuffer {
+        float freq;
+        int[] positions = new int[2];
+        int count;
+
+        void addPosition(int position) {
+            if (count == positions.length) positions = Arrays.copyOf(positions, count * 2);
+            positions[count++] = position;
+        }
+
+        int[] positions() {
+            return Arrays.copyOf(positions, count);
+        }
+    }
+
+    private static final class DocScores {
+        static final DocScores EMPTY = new DocScores(0);
+
+        int[] docs;
+        float[] scores;
+        int size;
+
+        DocScores(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            scores = new float[Math.max(capacity, 1)];
+        }
+
+        void append(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        /** Docs present in both, with scores summed. */
+        DocScores intersect(DocScores other) {
+            DocScores result = new DocScores(Math.min(size, other.size));
+            int i = 0, j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    result.append(docs[i], scores[i] + other.scores[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
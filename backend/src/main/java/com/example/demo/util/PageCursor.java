@@ -0,0 +1,31 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+
+/**
+ * Opaque keyset cursors: the sort key values of the last row of a page, as
+ * extended JSON in URL-safe base64. Clients only pass them back; the server
+ * decodes them into "continue after these keys".
+ */
+public final class PageCursor {
+
+    private PageCursor() {}
+
+    public static String encode(Document keys) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(keys.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException when the cursor was not produced by {@link #encode}. */
+    public static Document decode(String cursor) {
+        try {
+            return Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
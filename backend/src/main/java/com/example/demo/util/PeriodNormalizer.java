@@ -0,0 +1,221 @@
+package com.example.demo.util;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives a numeric year range from the free-text {@code period} of an artifact
+ * ("19th century", "Edo period (1615–1868)", "late 3rd century BCE", "1850s").
+ * Years are astronomical-style integers: 200 BC is -200. Explicit years win over
+ * centuries and millennia, which win over named periods; text with none of these
+ * has no range.
+ */
+public final class PeriodNormalizer {
+
+    /** Bumped whenever parsing changes, so the backfill re-derives stored ranges. */
+    public static final int VERSION = 1;
+
+    public record YearRange(int from, int to) {}
+
+    // Dates a range can plausibly hold; anything outside is treated as noise
+    private static final int MIN_YEAR = -100_000;
+    private static final int MAX_YEAR = 2100;
+
+    private static final Pattern DASHES = Pattern.compile("\\s*(?:[\u2010-\u2015\u2212-]+|\\bto\\b)\\s*");
+    private static final Pattern BC = Pattern.compile("\\bb\\.?\\s?c\\.?(?:\\s?e\\.?)?(?![a-z])");
+    private static final Pattern AD = Pattern.compile("\\b(?:a\\.?\\s?d\\.?|c\\.?\\s?e\\.?)(?![a-z])");
+
+    private static final Pattern YEAR_RANGE = Pattern.compile(
+            "(?<![\\d.])(\\d{1,4})\\s*(bc|ad)?-(\\d{1,4})\\s*(bc|ad)?(?![\\d])(?!st|nd|rd|th)");
+    private static final String QUALIFIER = "(early|mid|middle|late|first half of(?: the)?|second half of(?: the)?)";
+    private static final Pattern CENTURY = Pattern.compile(
+            "(?:" + QUALIFIER + "[\\s-]+)?(\\d{1,2})(?:st|nd|rd|th)"
+            + "(?:-(?:" + QUALIFIER + "[\\s-]+)?(\\d{1,2})(?:st|nd|rd|th))?"
+            + "[\\s-]+centur(?:y|ies)(?:\\s+(bc|ad))?");
+    private static final Pattern MILLENNIUM = Pattern.compile(
+            "(?:" + QUALIFIER + "[\\s-]+)?(\\d)(?:st|nd|rd|th)[\\s-]+millenni(?:um|a)(?:\\s+(bc|ad))?");
+    private static final Pattern DECADE = Pattern.compile("(?<!\\d)(\\d{2,3})0s\\b");
+    private static final Pattern YEAR = Pattern.compile(
+            "(?<![\\d.])(\\d{3,4})(?!\\d)(?!st|nd|rd|th)\\s*(bc|ad)?|(?<![\\d.])(\\d{1,2})\\s*(bc|ad)");
+
+    // Named periods that often come without years; first match wins, so longer names go first
+    private static final Map<Pattern, YearRange> NAMED = new LinkedHashMap<>();
+    static {
+        named("warring states", new YearRange(-475, -221));
+        named("spring and autumn", new YearRange(-770, -476));
+        named("three kingdoms", new YearRange(220, 280));
+        named("northern song", new YearRange(960, 1127));
+        named("southern song", new YearRange(1127, 1279));
+        named("shang", new YearRange(-1600, -1046));
+        named("zhou", new YearRange(-1046, -256));
+        named("han", new YearRange(-206, 220));
+        named("tang", new YearRange(618, 907));
+        named("song", new YearRange(960, 1279));
+        named("yuan", new YearRange(1271, 1368));
+        named("ming", new YearRange(1368, 1644));
+        named("qing", new YearRange(1644, 1912));
+        named("jomon", new YearRange(-14000, -300));
+        named("yayoi", new YearRange(-300, 300));
+        named("kofun", new YearRange(300, 538));
+        named("asuka", new YearRange(538, 710));
+        named("nara", new YearRange(710, 794));
+        named("heian", new YearRange(794, 1185));
+        named("kamakura", new YearRange(1185, 1333));
+        named("muromachi", new YearRange(1336, 1573));
+        named("momoyama", new YearRange(1573, 1615));
+        named("edo", new YearRange(1615, 1868));
+        named("meiji", new YearRange(1868, 1912));
+        named("taisho", new YearRange(1912, 1926));
+        named("showa", new YearRange(1926, 1989));
+        named("goryeo", new YearRange(918, 1392));
+        named("joseon", new YearRange(1392, 1897));
+        named("byzantine", new YearRange(330, 1453));
+        named("hellenistic", new YearRange(-323, -31));
+        named("roman imperial", new YearRange(-27, 476));
+        named("roman republic", new YearRange(-509, -27));
+        named("medieval", new YearRange(500, 1500));
+        named("renaissance", new YearRange(1400, 1600));
+        named("baroque", new YearRange(1600, 1750));
+        named("victorian", new YearRange(1837, 1901));
+        named("neolithic", new YearRange(-10000, -2000));
+        named("bronze age", new YearRange(-3300, -1200));
+        named("iron age", new YearRange(-1200, -550));
+    }
+
+    private PeriodNormalizer() {}
+
+    private static void named(String name, YearRange range) {
+        NAMED.put(Pattern.compile("\\b" + name + "\\b"), range);
+    }
+
+    /** The found date's year when there is one, otherwise the range of the period text. */
+    public static YearRange of(String period, LocalDate exactFoundDate) {
+        if (exactFoundDate != null) {
+            return new YearRange(exactFoundDate.getYear(), exactFoundDate.getYear());
+        }
+        return parse(period);
+    }
+
+    /** The year range the text describes, or null when it names none. */
+    public static YearRange parse(String period) {
+        if (period == null || period.isBlank()) {
+            return null;
+        }
+        String text = period.toLowerCase(Locale.ROOT);
+        text = BC.matcher(text).replaceAll(" bc ");
+        text = AD.matcher(text).replaceAll(" ad ");
+        text = DASHES.matcher(text).replaceAll("-");
+        // "AD 100" reads as "100 ad", so the era always follows the number
+        text = text.replaceAll("\\bad\\s*(\\d+)", "$1 ad");
+        text = text.replaceAll("\\s+", " ").trim();
+
+        YearRange range = yearRange(text);
+        if (range == null) range = centuries(text);
+        if (range == null) range = millennium(text);
+        if (range == null) range = decade(text);
+        if (range == null) range = year(text);
+        if (range == null) range = named(text);
+        if (range == null || range.from() < MIN_YEAR || range.to() > MAX_YEAR) {
+            return null;
+        }
+        return range.from() <= range.to() ? range : new YearRange(range.to(), range.from());
+    }
+
+    // "1615-1868", "500-300 bc", "200 bc-100 ad", "1850-60"
+    private static YearRange yearRange(String text) {
+        Matcher m = YEAR_RANGE.matcher(text);
+        while (m.find()) {
+            String fromText = m.group(1), toText = m.group(3);
+            String fromEra = m.group(2), toEra = m.group(4);
+            // Bare short numbers ("3-4") are not years
+            if (fromEra == null && toEra == null && fromText.length() < 3) continue;
+
+            int from = Integer.parseInt(fromText);
+            int to = Integer.parseInt(toText);
+            if (fromEra == null && toEra == null && toText.length() < fromText.length() && to < from) {
+                // Abbreviated end year: 1850-60 is 1850-1860
+                int scale = (int) Math.pow(10, toText.length());
+                to = from / scale * scale + to;
+            }
+            boolean fromBc = "bc".equals(fromEra) || (fromEra == null && "bc".equals(toEra));
+            boolean toBc = "bc".equals(toEra) || (toEra == null && "bc".equals(fromEra));
+            return new YearRange(fromBc ? -from : from, toBc ? -to : to);
+        }
+        return null;
+    }
+
+    // "19th century", "late 3rd century bc", "18th-19th centuries", "mid-20th century"
+    private static YearRange centuries(String text) {
+        Matcher m = CENTURY.matcher(text);
+        if (!m.find()) return null;
+        boolean bc = "bc".equals(m.group(5));
+        int first = Integer.parseInt(m.group(2));
+        int last = m.group(4) != null ? Integer.parseInt(m.group(4)) : first;
+        if (first == 0 || last == 0) return null;
+        YearRange start = qualify(span(first, 100, bc), m.group(1));
+        YearRange end = qualify(span(last, 100, bc), m.group(4) != null ? m.group(3) : m.group(1));
+        return new YearRange(Math.min(start.from(), end.from()), Math.max(start.to(), end.to()));
+    }
+
+    // "2nd millennium bc", "early 1st millennium ad"
+    private static YearRange millennium(String text) {
+        Matcher m = MILLENNIUM.matcher(text);
+        if (!m.find()) return null;
+        int n = Integer.parseInt(m.group(2));
+        if (n == 0) return null;
+        return qualify(span(n, 1000, "bc".equals(m.group(3))), m.group(1));
+    }
+
+    // "1850s" is a decade, "1800s" a century
+    private static YearRange decade(String text) {
+        Matcher m = DECADE.matcher(text);
+        if (!m.find()) return null;
+        int start = Integer.parseInt(m.group(1)) * 10;
+        int length = start % 100 == 0 ? 100 : 10;
+        return new YearRange(start, start + length - 1);
+    }
+
+    // "1642", "ca. 1700", "50 bc"
+    private static YearRange year(String text) {
+        Matcher m = YEAR.matcher(text);
+        if (!m.find()) return null;
+        int value = Integer.parseInt(m.group(1) != null ? m.group(1) : m.group(3));
+        String era = m.group(1) != null ? m.group(2) : m.group(4);
+        int year = "bc".equals(era) ? -value : value;
+        return new YearRange(year, year);
+    }
+
+    private static YearRange named(String text) {
+        for (Map.Entry<Pattern, YearRange> entry : NAMED.entrySet()) {
+            if (entry.getKey().matcher(text).find()) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    // The n-th century (size 100) or millennium (size 1000): the 19th century is 1800-1899,
+    // the 3rd century BC is -300 to -201
+    private static YearRange span(int n, int size, boolean bc) {
+        return bc ? new YearRange(-n * size, -(n - 1) * size - 1)
+                  : new YearRange((n - 1) * size, n * size - 1);
+    }
+
+    private static YearRange qualify(YearRange span, String qualifier) {
+        if (qualifier == null) return span;
+        int length = span.to() - span.from() + 1;
+        int third = length / 3;
+        return switch (qualifier) {
+            case "early" -> new YearRange(span.from(), span.from() + third - 1);
+            case "mid", "middle" -> new YearRange(span.from() + third, span.to() - third);
+            case "late" -> new YearRange(span.to() - third + 1, span.to());
+            default -> qualifier.startsWith("first half")
+                    ? new YearRange(span.from(), span.from() + length / 2 - 1)
+                    : new YearRange(span.from() + length / 2, span.to());
+        };
+    }
+}
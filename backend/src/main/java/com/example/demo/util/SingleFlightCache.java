@@ -0,0 +1,115 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache with a time-to-live whose misses are coalesced: while a value
+ * is being loaded, other callers asking for the same key wait for that load
+ * instead of starting their own.
+ *
+ * {@link #invalidateAll()} empties the cache and bumps a generation counter; loads
+ * that started before it still answer their waiters but are not stored, so a
+ * result computed from pre-change data never outlives the change.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    // Loads are shared per generation: after an invalidation, callers start a fresh one
+    private record Flight<K>(long generation, K key) {}
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    private final Map<Flight<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private long generation;
+    private long hits;
+    private long misses;
+
+    public SingleFlightCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        // Access order, so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > SingleFlightCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached value for {@code key}, or the result of {@code loader}. Exactly one
+     * concurrent caller runs the loader per key; its exception is rethrown to all of them.
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits++;
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        Flight<K> flight = new Flight<>(loadGeneration, key);
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(flight, future);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            V value = loader.get();
+            synchronized (this) {
+                if (generation == loadGeneration && value != null) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, future);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MatchModeTest {
+
+    @Test
+    void parsesFieldModes() {
+        assertEquals(Map.of("category", MatchMode.exact, "title", MatchMode.prefix),
+                MatchMode.parse("category:exact,title:prefix"));
+    }
+
+    @Test
+    void toleratesBlanksAroundAndBetweenParts() {
+        assertEquals(Map.of("culture", MatchMode.iexact, "tags", MatchMode.contains),
+                MatchMode.parse(" culture : iexact ,, tags:contains, "));
+    }
+
+    @Test
+    void sortsFieldsSoEqualSpecsGiveEqualMaps() {
+        Map<String, MatchMode> modes = MatchMode.parse("title:prefix,city:exact,medium:contains");
+
+        assertEquals(List.of("city", "medium", "title"), List.copyOf(modes.keySet()));
+        assertEquals(modes, MatchMode.parse("medium:contains,title:prefix,city:exact"));
+    }
+
+    @Test
+    void laterModeForAFieldWins() {
+        assertEquals(Map.of("title", MatchMode.exact), MatchMode.parse("title:prefix,title:exact"));
+    }
+
+    @Test
+    void emptySpecMeansNoOverrides() {
+        assertTrue(MatchMode.parse(null).isEmpty());
+        assertTrue(MatchMode.parse("").isEmpty());
+        assertTrue(MatchMode.parse("  ").isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"description:exact", "title", "title:", "Title:exact", ":exact"})
+    void rejectsUnknownFieldsAndMissingModes(String spec) {
+        assertThrows(IllegalArgumentException.class, () -> MatchMode.parse(spec));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"title:regex", "title:EXACT", "title:exact:prefix"})
+    void rejectsUnknownModes(String spec) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MatchMode.parse(spec));
+        assertTrue(e.getMessage().startsWith("Invalid match mode"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"title:exact,category:iexact", "culture:iexact,period:prefix,city:exact"})
+    void rejectsMixingExactAndIexact(String spec) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MatchMode.parse(spec));
+        assertEquals("Invalid match: exact and iexact can't be combined", e.getMessage());
+    }
+
+    @Test
+    void allowsExactOrIexactWithTheOtherModes() {
+        assertEquals(3, MatchMode.parse("title:exact,category:exact,tags:prefix").size());
+        assertEquals(2, MatchMode.parse("title:iexact,tags:contains").size());
+    }
+}
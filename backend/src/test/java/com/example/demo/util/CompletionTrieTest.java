@@ -0,0 +1,144 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.util.CompletionTrie.Completion;
+
+class CompletionTrieTest {
+
+    private CompletionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new CompletionTrie();
+    }
+
+    private List<String> complete(String prefix, int limit) {
+        return trie.complete(prefix, limit).stream().map(Completion::text).toList();
+    }
+
+    @Test
+    void ranksCompletionsByWeight() {
+        trie.add("Bronze mirror", "title", 2);
+        trie.add("Bronze bell", "title", 5);
+        trie.add("Brocade robe", "title", 3);
+        trie.add("Stone bell", "title", 9);
+
+        assertEquals(List.of("Bronze bell", "Brocade robe", "Bronze mirror"), complete("bro", 10));
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        trie.add("Vase", "title", 1);
+        trie.add("Vase stand", "title", 3);
+        trie.add("Vase lid", "title", 2);
+
+        assertEquals(List.of("Vase stand", "Vase lid"), complete("vase", 2));
+        assertEquals(List.of(), complete("vase", 0));
+    }
+
+    @Test
+    void matchesFoldedPhrasesAndPrefixesEndingInsideAnEdge() {
+        trie.add("Edo period (1615–1868)", "period", 1);
+
+        assertEquals(List.of("Edo period (1615–1868)"), complete("EDO per", 10));
+        assertEquals(List.of("Edo period (1615–1868)"), complete("edo period 16", 10));
+        assertEquals(List.of(), complete("edo periods", 10));
+        assertEquals(List.of(), complete("  ", 10));
+    }
+
+    @Test
+    void sumsWeightsAndKindsOfRepeatedAdds() {
+        trie.add("Ming dynasty", "period", 2);
+        trie.add("ming  DYNASTY", "tag", 3);
+
+        List<Completion> completions = trie.complete("ming", 10);
+        assertEquals(1, completions.size());
+        assertEquals(1, trie.size());
+        // The first add decides how the key is shown
+        assertEquals("Ming dynasty", completions.get(0).text());
+        assertEquals(5.0, completions.get(0).weight(), 1e-9);
+        assertEquals(Set.of("period", "tag"), completions.get(0).kinds());
+    }
+
+    @Test
+    void removeTakesBackOneAdd() {
+        trie.add("Celadon bowl", "title", 2);
+        trie.add("Celadon bowl", "title", 2);
+        trie.add("Celadon vase", "title", 3);
+
+        trie.remove("Celadon bowl", "title", 2);
+
+        List<Completion> completions = trie.complete("celadon", 10);
+        assertEquals(List.of("Celadon vase", "Celadon bowl"), completions.stream().map(Completion::text).toList());
+        assertEquals(2.0, completions.get(1).weight(), 1e-9);
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void removingTheLastAddDeletesTheKeyAndKeepsItsSiblings() {
+        trie.add("Tea bowl", "title", 1);
+        trie.add("Tea caddy", "title", 1);
+        trie.add("Teapot", "title", 1);
+
+        trie.remove("Tea caddy", "title", 1);
+        trie.remove("Teapot", "title", 1);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Tea bowl"), complete("te", 10));
+        assertEquals(List.of(), complete("teap", 10));
+        assertEquals(List.of(), complete("tea c", 10));
+    }
+
+    @Test
+    void removeKeepsTheKeyWhileAnotherKindStillHoldsIt() {
+        trie.add("Lacquer", "tag", 1);
+        trie.add("Lacquer", "medium", 4);
+
+        trie.remove("Lacquer", "medium", 4);
+
+        List<Completion> completions = trie.complete("lac", 10);
+        assertEquals(1, completions.size());
+        assertEquals(Set.of("tag"), completions.get(0).kinds());
+        assertEquals(1.0, completions.get(0).weight(), 1e-9);
+    }
+
+    @Test
+    void removeIgnoresUnknownKeysAndKinds() {
+        trie.add("Scroll", "title", 1);
+
+        trie.remove("Scroll", "tag", 1);
+        trie.remove("Scrolls", "title", 1);
+        trie.remove("Scr", "title", 1);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Scroll"), complete("scr", 10));
+    }
+
+    @Test
+    void rankingFollowsWeightsAfterRemoval() {
+        trie.add("Jade cup", "title", 10);
+        trie.add("Jade seal", "title", 4);
+        trie.add("Jade disc", "title", 6);
+
+        trie.remove("Jade cup", "title", 10);
+
+        assertEquals(List.of("Jade disc", "Jade seal"), complete("jade", 10));
+    }
+
+    @Test
+    void clearEmptiesTheTrie() {
+        trie.add("Mask", "title", 1);
+        trie.clear();
+
+        assertEquals(0, trie.size());
+        assertTrue(trie.complete("mask", 10).isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class GeoHashTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "57.64911  | 10.40744  | 11 | u4pruydqqvj",
+            "42.6      | -5.6      | 5  | ezs42",
+            "48.8584   | 2.2945    | 7  | u09tunq",
+            "35.6586   | 139.7454  | 6  | xn76gg",
+            "-33.8568  | 151.2153  | 6  | r3gx2u",
+            "0         | 0         | 4  | s000",
+            "-90       | -180      | 4  | 0000",
+            "90        | 180       | 4  | zzzz",
+    })
+    void encodesKnownPoints(double latitude, double longitude, int precision, String expected) {
+        assertEquals(expected, GeoHash.encode(latitude, longitude, precision));
+    }
+
+    @Test
+    void shorterHashesArePrefixesOfLongerOnes() {
+        String full = GeoHash.encode(31.2304, 121.4737, GeoHash.MAX_PRECISION);
+
+        assertEquals(GeoHash.MAX_PRECISION, full.length());
+        for (int precision = 1; precision < GeoHash.MAX_PRECISION; precision++) {
+            assertTrue(full.startsWith(GeoHash.encode(31.2304, 121.4737, precision)));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 45,          45",
+            "2, 11.25,       5.625",
+            "5, 0.0439453125, 0.0439453125",
+            "6, 0.010986328125, 0.0054931640625",
+    })
+    void cellSizeHalvesWithEveryBit(int precision, double width, double height) {
+        assertEquals(width, GeoHash.cellWidth(precision), 1e-12);
+        assertEquals(height, GeoHash.cellHeight(precision), 1e-12);
+    }
+
+    @Test
+    void cellBoundsMatchTheEncoding() {
+        for (int precision = 1; precision <= 8; precision++) {
+            double width = GeoHash.cellWidth(precision);
+            double height = GeoHash.cellHeight(precision);
+            String origin = GeoHash.encode(0, 0, precision);
+
+            // The cell at the origin spans [0, height) x [0, width): its lower edges are inclusive
+            assertEquals(origin, GeoHash.encode(height * 0.999, width * 0.999, precision));
+            assertNotEquals(origin, GeoHash.encode(height, 0, precision));
+            assertNotEquals(origin, GeoHash.encode(0, width, precision));
+            assertNotEquals(origin, GeoHash.encode(-height * 0.001, 0, precision));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    // Title weighs ten times as much as the description
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex(10, 1);
+    }
+
+    private void put(String id, String title, String description) {
+        index.put(id, List.of(List.of(title), List.of(description)));
+    }
+
+    // A trailing space keeps the last term from being read as a prefix
+    private List<String> search(String query) {
+        return index.search(query, 100, id -> true).ids();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        put("desc", "Hand mirror", "Cast bronze with a polished face");
+        put("title", "Bronze bell", "Temple bell");
+
+        assertEquals(List.of("title", "desc"), search("bronze "));
+    }
+
+    @Test
+    void ranksShorterFieldsAndRepeatedTermsHigher() {
+        put("long", "Vase with lid, stand, handles and a painted landscape", "");
+        put("short", "Vase", "");
+        put("twice", "Vase vase", "");
+
+        List<String> ids = search("vase ");
+        assertEquals(3, ids.size());
+        assertEquals("long", ids.get(2));
+    }
+
+    @Test
+    void andsTermsTogether() {
+        put("both", "Bronze mirror", "");
+        put("one", "Bronze bell", "");
+
+        assertEquals(List.of("both"), search("mirror bronze "));
+        assertEquals(List.of(), search("mirror bell "));
+    }
+
+    @Test
+    void phraseRequiresConsecutiveTermsInOneValue() {
+        put("phrase", "Bronze mirror", "");
+        put("reversed", "Mirror of bronze", "");
+        put("apart", "Bronze hand mirror", "");
+        index.put("tags", List.of(List.of("bronze", "mirror"), List.of()));
+
+        assertEquals(List.of("phrase"), search("\"bronze mirror\""));
+    }
+
+    @Test
+    void lastBareTermIsAPrefixWhileTyping() {
+        put("bronze", "Bronze bell", "");
+        put("brooch", "Gold brooch", "");
+        put("bowl", "Bowl", "");
+
+        assertEquals(2, search("bro").size());
+        assertEquals(List.of(), search("bro "));
+        assertEquals(List.of("brooch"), search("bro* gold "));
+    }
+
+    @Test
+    void prefixKeepsTheMostFrequentExpansions() {
+        // More rare terms than a prefix expands to, all sorting before the common one
+        for (int i = 0; i < 100; i++) {
+            put("rare" + i, String.format("aa%03d", i), "");
+        }
+        for (int i = 0; i < 5; i++) {
+            put("common" + i, "Azure glaze", "");
+        }
+
+        List<String> ids = search("a");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ids.contains("common" + i), "common" + i + " missing from " + ids);
+        }
+    }
+
+    @Test
+    void foldsCaseAndDiacritics() {
+        assertEquals("edo period", InvertedIndex.fold("Édo Périod"));
+        assertEquals(List.of("tete", "a", "tete"), InvertedIndex.tokenize("Tête-à-tête"));
+
+        put("edo", "Édo period screen", "");
+        put("qing", "Vase", "Qīng dynasty");
+
+        assertEquals(List.of("edo"), search("edo "));
+        assertEquals(List.of("edo"), search("ÉDO "));
+        assertEquals(List.of("qing"), search("\"qing dynasty\""));
+    }
+
+    @Test
+    void countsEveryAcceptedMatchButReturnsTopK() {
+        for (int i = 0; i < 10; i++) {
+            put("vase" + i, "Vase", "");
+        }
+
+        InvertedIndex.Hits hits = index.search("vase ", 3, id -> !id.equals("vase0"));
+        assertEquals(9, hits.total());
+        assertEquals(3, hits.ids().size());
+    }
+
+    @Test
+    void removeAndReplaceDropOldTerms() {
+        put("a", "Bronze mirror", "");
+        put("b", "Bronze bell", "");
+
+        index.remove("a");
+        assertEquals(1, index.size());
+        assertEquals(List.of("b"), search("bronze "));
+
+        put("b", "Jade bell", "");
+        assertEquals(1, index.size());
+        assertEquals(List.of(), search("bronze "));
+        assertEquals(List.of("b"), search("jade "));
+    }
+
+    @Test
+    void compactionKeepsLiveDocuments() {
+        for (int i = 0; i < 3000; i++) {
+            put("doc" + i, "Vase " + (i % 2 == 0 ? "even" : "odd"), "");
+        }
+        // Enough removals to trigger at least one compaction
+        for (int i = 0; i < 3000; i += 2) {
+            index.remove("doc" + i);
+        }
+
+        assertEquals(1500, index.size());
+        assertEquals(List.of(), search("even "));
+        assertEquals(1500, index.search("vase ", 0, id -> true).total());
+
+        put("doc0", "Vase even", "");
+        assertEquals(List.of("doc0"), search("even "));
+    }
+
+    @Test
+    void replacedDocumentsDontCountTowardsTermRarity() {
+        // "bronze" is in fewer documents than "mirror", so its title match ranks first
+        put("bronzeTitle", "Bronze", "mirror");
+        put("mirrorTitle", "Mirror", "bronze");
+        put("bell", "Bronze bell", "");
+        put("hand", "Hand mirror", "");
+        put("stand", "Mirror stand", "");
+        assertEquals(List.of("bronzeTitle", "mirrorTitle"), search("bronze mirror "));
+
+        // Re-indexing the same document must not make "bronze" look common
+        for (int i = 0; i < 10; i++) {
+            put("bell", "Bronze bell", "");
+        }
+        assertEquals(List.of("bronzeTitle", "mirrorTitle"), search("bronze mirror "));
+    }
+
+    @Test
+    void compactionAfterManyEditsKeepsOrderAndPositions() {
+        put("a", "Vase", "");
+        put("b", "Vase", "");
+        put("c", "Vase", "");
+        // Each edit tombstones the previous version, enough for several compactions
+        for (int i = 0; i < 5000; i++) {
+            put("edited", "Temple bell", "edit " + i);
+        }
+
+        assertEquals(4, index.size());
+        // Equal scores keep insertion order across renumbering
+        assertEquals(List.of("a", "b", "c"), search("vase "));
+        assertEquals(List.of("edited"), search("\"temple bell\""));
+        assertEquals(List.of("edited"), search("4999 "));
+        assertEquals(List.of(), search("4998 "));
+    }
+}
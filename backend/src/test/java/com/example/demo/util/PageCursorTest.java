@@ -0,0 +1,59 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsSortKeys() {
+        Document keys = new Document("createdAt", "2024-05-01T10:15:30")
+                .append("id", 42)
+                .append("k", 4.5)
+                .append("s", "averageRating:desc")
+                .append("missing", null);
+
+        assertEquals(keys, PageCursor.decode(PageCursor.encode(keys)));
+    }
+
+    @Test
+    void roundTripsTextNeedingEscapes() {
+        Document keys = new Document("k", "Tea bowl \"Kizaemon\" / 井戸茶碗 + more?");
+
+        assertEquals(keys, PageCursor.decode(PageCursor.encode(keys)));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = PageCursor.encode(new Document("k", "???>>>~~~ÿÿÿ"));
+
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+        assertFalse(cursor.contains("="));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor!", "abc*", "%%%"})
+    void rejectsInvalidBase64(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hello", "{\"id\": ", "{id 42}"})
+    void rejectsBase64ThatIsNotJson(String text) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+}
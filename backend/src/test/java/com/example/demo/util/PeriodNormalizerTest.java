@@ -0,0 +1,69 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PeriodNormalizerTest {
+
+    @ParameterizedTest(name = "{0} -> {1}..{2}")
+    @CsvSource(delimiter = '|', value = {
+        // Centuries, with qualifiers and ranges
+        "19th century                    | 1800  | 1899",
+        "1st century AD                  | 0     | 99",
+        "5th century B.C.                | -500  | -401",
+        "late 3rd century BCE            | -233  | -201",
+        "early 17th century              | 1600  | 1632",
+        "mid-20th century                | 1933  | 1966",
+        "first half of the 18th century  | 1700  | 1749",
+        "second half of the 19th century | 1850  | 1899",
+        "18th-19th centuries             | 1700  | 1899",
+        // Millennia
+        "2nd millennium BC               | -2000 | -1001",
+        "early 1st millennium AD         | 0     | 332",
+        // Explicit year ranges, BC/AD and abbreviated end years
+        "Edo period (1615–1868)          | 1615  | 1868",
+        "1615 to 1868                    | 1615  | 1868",
+        "500-300 BC                      | -500  | -300",
+        "200 BC-100 AD                   | -200  | 100",
+        "AD 100-200                      | 100   | 200",
+        "1850-60                         | 1850  | 1860",
+        // Decades, and hundreds read as centuries
+        "1850s                           | 1850  | 1859",
+        "1960s                           | 1960  | 1969",
+        "1800s                           | 1800  | 1899",
+        // Single years
+        "ca. 1700                        | 1700  | 1700",
+        "1642                            | 1642  | 1642",
+        "50 BC                           | -50   | -50",
+        // Named periods
+        "Ming dynasty                    | 1368  | 1644",
+        "Northern Song dynasty           | 960   | 1127",
+        "Warring States period           | -475  | -221",
+        "Heian period                    | 794   | 1185",
+        "Bronze Age                      | -3300 | -1200",
+    })
+    void parsesPeriodText(String period, int from, int to) {
+        assertEquals(new PeriodNormalizer.YearRange(from, to), PeriodNormalizer.parse(period));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "   ", "unknown", "3-4 pieces", "Roman", "99999" })
+    void hasNoRangeWithoutADateOrKnownPeriod(String period) {
+        assertNull(PeriodNormalizer.parse(period));
+    }
+
+    @Test
+    void foundDateWinsOverPeriod() {
+        assertEquals(new PeriodNormalizer.YearRange(1923, 1923),
+                PeriodNormalizer.of("19th century", LocalDate.of(1923, 5, 1)));
+        assertEquals(new PeriodNormalizer.YearRange(1800, 1899), PeriodNormalizer.of("19th century", null));
+        assertNull(PeriodNormalizer.of(null, null));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    void servesRepeatedGetsFromTheCache() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+
+        assertEquals("a1", cache.get("a", () -> load("a1")));
+        assertEquals("a1", cache.get("a", () -> load("a2")));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        AtomicReference<String> first = new AtomicReference<>();
+        Thread loader = new Thread(() -> first.set(cache.get("k", () -> {
+            loading.countDown();
+            await(release);
+            return load("v");
+        })));
+        loader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<String> second = new AtomicReference<>();
+        Thread waiter = new Thread(() -> second.set(cache.get("k", () -> load("other"))));
+        waiter.start();
+        // Parked on the running load's future
+        waitUntilWaiting(waiter);
+
+        release.countDown();
+        loader.join(5_000);
+        waiter.join(5_000);
+
+        assertEquals("v", first.get());
+        assertEquals("v", second.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loaderExceptionReachesTheCallerAndIsNotCached() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+        IllegalStateException failure = new IllegalStateException("down");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> cache.get("k", () -> {
+            throw failure;
+        })));
+        assertEquals("v", cache.get("k", () -> load("v")));
+        assertEquals(0, cache.hits());
+    }
+
+    @Test
+    void invalidateAllDropsCachedValues() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+        cache.get("k", () -> load("old"));
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals("new", cache.get("k", () -> load("new")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsReturnedButNotStored() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+
+        String stale = cache.get("k", () -> {
+            cache.invalidateAll();
+            return load("stale");
+        });
+
+        assertEquals("stale", stale);
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get("k", () -> load("fresh")));
+    }
+
+    @Test
+    void callersAfterAnInvalidationDoNotJoinTheOlderLoad() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread loader = new Thread(() -> cache.get("k", () -> {
+            loading.countDown();
+            await(release);
+            return load("stale");
+        }));
+        loader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.invalidateAll();
+        assertEquals("fresh", cache.get("k", () -> load("fresh")));
+
+        release.countDown();
+        loader.join(5_000);
+        // The older load finished last but must not replace the fresh value
+        assertEquals("fresh", cache.get("k", () -> load("again")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 0);
+
+        cache.get("k", () -> load("v1"));
+        assertEquals("v2", cache.get("k", () -> load("v2")));
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(2, 60_000);
+        cache.get("a", () -> load("a"));
+        cache.get("b", () -> load("b"));
+        cache.get("a", () -> load("a"));
+        cache.get("c", () -> load("c"));
+
+        assertEquals(2, cache.size());
+        cache.get("a", () -> load("a"));
+        assertEquals(3, loads.get());
+        cache.get("b", () -> load("b"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void nullResultsAreNotCached() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+
+        cache.get("k", () -> load(null));
+        cache.get("k", () -> load(null));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
@@ -17,10 +17,7 @@ import {
 } from "@/components/ui/select";
 import { cn } from "@/lib/utils";
 import {
-  fetchCategorySuggestions,
-  fetchCultureSuggestions,
-  fetchDepartmentSuggestions,
-  fetchPeriodSuggestions,
+  fetchAllSuggestions,
 } from "@/services/api";
 import { format } from "date-fns";
 import { CalendarIcon, Loader2, Search } from "lucide-react";
@@ -75,6 +72,8 @@ export function AdvancedSearchDialog({
     { value: "descending", label: "Descending" },
     { value: "most_few", label: "Most Favorite" },
     { value: "least_few", label: "Least Favorite" },
+    { value: "oldest_first", label: "Oldest First" },
+    { value: "newest_first", label: "Newest First" },
   ];
 
   // Fetch suggestions from database when dialog opens
@@ -88,19 +87,12 @@ export function AdvancedSearchDialog({
   const loadSuggestions = async () => {
     setIsLoadingSuggestions(true);
     try {
-      const [categoriesData, culturesData, departmentsData, periodsData] =
-        await Promise.all([
-          fetchCategorySuggestions(),
-          fetchCultureSuggestions(),
-          fetchDepartmentSuggestions(),
-          fetchPeriodSuggestions(),
-        ]);
-
-      // Filter out null/undefined values and sort alphabetically
-      setCategories(categoriesData.filter(Boolean).sort());
-      setCultures(culturesData.filter(Boolean).sort());
-      setDepartments(departmentsData.filter(Boolean).sort());
-      setPeriods(periodsData.filter(Boolean).sort());
+      // Server returns the lists blank-free and sorted
+      const suggestions = await fetchAllSuggestions();
+      setCategories(suggestions.categories);
+      setCultures(suggestions.cultures);
+      setDepartments(suggestions.departments);
+      setPeriods(suggestions.periods);
     } catch (error) {
       console.error("Error loading suggestions:", error);
       // Fallback to empty arrays if API fails
@@ -114,6 +106,18 @@ export function AdvancedSearchDialog({
   };
 
   const handleSearch = () => {
+    // Values picked from the suggestion lists are matched exactly, which the backend serves from an index
+    const exactFields = (
+      [
+        ["category", category, categories],
+        ["culture", culture, cultures],
+        ["department", department, departments],
+        ["period", period, periods],
+      ] as const
+    )
+      .filter(([, value, options]) => value && options.includes(value))
+      .map(([field]) => `${field}:exact`);
+
     const filters: SearchFilters = {
       anyField,
       title,
@@ -125,6 +129,7 @@ export function AdvancedSearchDialog({
       fromDate: fromDate ? fromDate.toISOString().split("T")[0] : undefined,
       toDate: toDate ? toDate.toISOString().split("T")[0] : undefined,
       sortBy,
+      match: exactFields.length ? exactFields.join(",") : undefined,
     };
     onSearch(filters);
     onOpenChange(false);
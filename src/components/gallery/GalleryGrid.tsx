@@ -101,7 +101,6 @@ export const GalleryGrid = ({
             culture={artifact.culture}
             period={artifact.period}
             category={artifact.category}
-            description={artifact.description}
             medium={artifact.medium}
             image={
   artifact.image_url?.trim() ||
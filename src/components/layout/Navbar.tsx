@@ -6,7 +6,7 @@ import { Avatar, AvatarFallback, AvatarImage } from '@/components/ui/avatar';
 import logo from '@/assets/logo.jpg';
 import defaultPFP from '@/assets/default.png';
 import { useAuth } from "@/hooks/useAuth";
-import { listNotifications } from "@/services/api";
+import { getUnreadNotificationCount, subscribeNotifications } from "@/services/api";
 
 interface NavbarProps {
   onMenuClick?: () => void;
@@ -26,15 +26,24 @@ const navigate = useNavigate();
     if (!isAuthenticated) return;
     const ac = new AbortController();
 
-    listNotifications({ signal: ac.signal, unreadOnly: true })
-      .then((notis) => {
-        setUnreadCount(notis?.length || 0);
+    getUnreadNotificationCount({ signal: ac.signal })
+      .then((count) => {
+        setUnreadCount(count);
       })
       .catch((err) => {
         if (err?.name !== "CanceledError") console.error("Failed to load noti count", err);
       });
 
-    return () => ac.abort();
+    // Keep the badge current from the push stream, which sends the absolute count
+    // on every (re)connect and change
+    const unsubscribe = subscribeNotifications({
+      onUnreadCount: setUnreadCount,
+    });
+
+    return () => {
+      ac.abort();
+      unsubscribe();
+    };
   }, [isAuthenticated]);
 
   const toAbsoluteMediaUrl = (pathOrUrl?: string | null) => {
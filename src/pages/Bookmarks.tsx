@@ -11,9 +11,7 @@ import { useAuth } from "@/hooks/useAuth";
 import {
   listBookmarks,
   getArtifactById,
-  getArtifactRatingInfo,
   deleteBookmark as apiDeleteBookmark,
-  type RatingDTO,
 } from "@/services/api";
 
 type ArtifactSummary = {
@@ -53,29 +51,23 @@ const { user, isAuthenticated, loading: authLoading } = useAuth();
       try {
         setLoading(true);
 
-        // 1) Get bookmark rows
+        // 1) Get bookmark rows (ratings included)
         const bookmarkDTOs = await listBookmarks();
 
-        // 2) For each bookmark: fetch artifact + rating in parallel
+        // 2) For each bookmark: fetch artifact
         const artifacts = await Promise.all(
-          bookmarkDTOs.map(async ({ artifactId }) => {
-            // parallelize: artifact + rating
-            const [artifactData, ratingDataOrNull] = await Promise.all([
-              getArtifactById(artifactId),
-              getArtifactRatingInfo(artifactId)
-                .then((d) => d)
-                .catch(() => null), // ratings may be absent
-            ]);
+          bookmarkDTOs.map(async (bookmark) => {
+            const { artifactId } = bookmark;
+            const artifactData = await getArtifactById(artifactId);
 
             // normalize for ArtCard
-            const ratingData = ratingDataOrNull as RatingDTO | null;
             const normalized: ArtifactSummary = {
               ...artifactData,
               _id: artifactData._id ?? artifactData.id ?? artifactId,
               artifactId: artifactData.artifactId ?? artifactId,
               images: (artifactData.images ?? []) as ArtifactImage[],
-              averageRating: ratingData?.averageRating ?? artifactData.averageRating ?? 0,
-              totalRatings: ratingData?.totalRatings ?? artifactData.totalRatings ?? 0,
+              averageRating: bookmark.averageRating ?? artifactData.averageRating ?? 0,
+              totalRatings: bookmark.totalRatings ?? artifactData.totalRatings ?? 0,
             };
 
             return normalized;
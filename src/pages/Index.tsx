@@ -163,7 +163,6 @@ useEffect(() => {
   culture={artifact.culture}
   period={artifact.period}
   category={artifact.category}
-  description={artifact.description}
   medium={artifact.medium}
   image={
     artifact.image_url?.trim() ||
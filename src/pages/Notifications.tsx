@@ -8,7 +8,7 @@ import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@
 import { useAuthGuard } from "@/hooks/useAuthGuard";
 import {
   getMyPublicProfile,
-  listNotifications,
+  getNotificationInbox,
   markAllNotificationsRead,
   markNotificationRead,
   type ViewUserProfile,
@@ -19,8 +19,21 @@ import {
 
 type UserRole = "visitor" | "curator" | "professor" | "admin";
 
+/** Inbox rows fetched per page */
+const PAGE_SIZE = 50;
+
 /* -------------------------------- Helpers --------------------------------- */
 
+/** Unread first, then newest first */
+function sortNotifications(list: NotificationDto[]): NotificationDto[] {
+  return [...list].sort((a, b) => {
+    if (a.isRead === b.isRead) {
+      return new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime(); // latest first
+    }
+    return a.isRead ? 1 : -1; // unread first
+  });
+}
+
 /** Show "x minutes/hours/days ago" */
 function formatRelative(isoDate: string) {
   const then = new Date(isoDate).getTime();
@@ -111,6 +124,8 @@ export const Notifications = () => {
   const [items, setItems] = useState<NotificationDto[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   const abortRef = useRef<AbortController | null>(null);
 
@@ -148,16 +163,10 @@ export const Notifications = () => {
         const me: ViewUserProfile = await getMyPublicProfile({ signal: ac.signal });
         setRole(me.role);
 
-        const list = await listNotifications({ signal: ac.signal, unreadOnly: false });
+        const page = await getNotificationInbox({ signal: ac.signal, size: PAGE_SIZE });
 
-        const sorted = (list ?? []).sort((a, b) => {
-          if (a.isRead === b.isRead) {
-            return new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime(); // latest first
-          }
-          return a.isRead ? 1 : -1; // unread first
-        });
-
-        setItems(sorted);
+        setItems(sortNotifications(page.items ?? []));
+        setNextCursor(page.nextCursor);
       } catch (err: any) {
         if (err?.name === "CanceledError") return;
         const status = err?.response?.status;
@@ -194,6 +203,21 @@ export const Notifications = () => {
     };
   }, [ready, user]);
 
+  /** Append the next inbox page */
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const page = await getNotificationInbox({ cursor: nextCursor, size: PAGE_SIZE });
+      setItems((prev) => sortNotifications([...prev, ...(page.items ?? [])]));
+      setNextCursor(page.nextCursor);
+    } catch (e) {
+      console.error(e);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   /** Mark all current notifications as read (optimistic) */
   const markAllAsRead = async () => {
     if (unreadCount === 0) return;
@@ -293,7 +317,7 @@ export const Notifications = () => {
             {items.map((n) => {
               const visitLink = buildVisitLink(n, role);
               const time = formatRelative(n.createdAt);
-              const from = n.source?.username ?? "System";
+              const from = n.sourceUsername ?? "System";
 
               return (
                 <TableRow key={n.notiId} className={n.isRead ? "opacity-60" : "bg-muted/30"}>
@@ -363,6 +387,14 @@ export const Notifications = () => {
         </Table>
       </div>
 
+      {nextCursor && (
+        <div className="flex justify-center mt-4">
+          <Button variant="outline" size="sm" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? "Loading…" : "Load more"}
+          </Button>
+        </div>
+      )}
+
       {items.length === 0 && (
         <div className="text-center py-12">
           <p className="text-muted-foreground">No notifications found</p>
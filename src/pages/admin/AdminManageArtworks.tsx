@@ -28,7 +28,7 @@ import { useAuthGuard } from "@/hooks/useAuthGuard";
 import {
   AdminArtworkDto,
   adminDeleteArtwork,
-  adminListAllArtworks, // fetch ALL for counts
+  adminArtworkStatusCounts, // per-status counts for the pills
   adminListArtworksPaginated, // fetch with pagination
 } from "@/services/api";
 import {
@@ -41,7 +41,7 @@ import {
   Trash2,
   XCircle,
 } from "lucide-react";
-import { useEffect, useMemo, useState } from "react";
+import { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
 
 /** Status type for filtering */
@@ -58,7 +58,13 @@ export const ManageArtworks = () => {
 
   // dataset
   const [artworks, setArtworks] = useState<AdminArtworkDto[]>([]);
-  const [allArtworks, setAllArtworks] = useState<AdminArtworkDto[]>([]); // for counting
+  const [statusCounts, setStatusCounts] = useState({
+    pending: 0,
+    accepted: 0,
+    rejected: 0,
+    not_submitted: 0,
+    total: 0,
+  });
   const [totalCount, setTotalCount] = useState(0);
   const [loading, setLoading] = useState(false);
   const [countsLoading, setCountsLoading] = useState(false);
@@ -98,7 +104,7 @@ export const ManageArtworks = () => {
     }
 
     loadArtworks();
-    loadAllArtworksForCounts();
+    loadStatusCounts();
   }, [ready, user, navigate]);
 
   // reload when search or status filter changes
@@ -137,25 +143,20 @@ export const ManageArtworks = () => {
     }
   };
 
-  // Load all artworks for status counts (separate from pagination)
-  const loadAllArtworksForCounts = async () => {
+  // Load status counts (separate from pagination)
+  const loadStatusCounts = async () => {
     try {
       setCountsLoading(true);
-      const allData = await adminListAllArtworks();
-      console.log("📊 Loaded all artworks for counts:", allData.length);
-      console.log(
-        "📊 Sample artwork statuses:",
-        allData.slice(0, 3).map((a) => ({
-          id: a._id,
-          title: a.title,
-          status: a.status,
-          calculatedStatus: getArtworkStatus(a),
-        }))
-      );
-      setAllArtworks(allData);
+      const counts = await adminArtworkStatusCounts();
+      setStatusCounts({
+        pending: counts.pending ?? 0,
+        accepted: counts.accepted ?? 0,
+        rejected: counts.rejected ?? 0,
+        not_submitted: counts.not_submitted ?? 0,
+        total: counts.total ?? 0,
+      });
     } catch (error) {
       console.error("Failed to load artwork counts:", error);
-      setAllArtworks([]);
     } finally {
       setCountsLoading(false);
     }
@@ -177,35 +178,6 @@ export const ManageArtworks = () => {
     return "not_submitted";
   }
 
-  // Counts for status pills (similar to ManageUsers)
-  const statusCounts = useMemo(() => {
-    let pending = 0,
-      accepted = 0,
-      rejected = 0,
-      not_submitted = 0;
-
-    console.log("🔢 Calculating counts for", allArtworks.length, "artworks");
-
-    for (const artwork of allArtworks) {
-      const status = getArtworkStatus(artwork);
-      if (status === "pending") pending++;
-      else if (status === "accepted") accepted++;
-      else if (status === "rejected") rejected++;
-      else if (status === "not_submitted") not_submitted++;
-    }
-
-    const counts = {
-      pending,
-      accepted,
-      rejected,
-      not_submitted,
-      total: allArtworks.length,
-    };
-
-    console.log("🔢 Final counts:", counts);
-    return counts;
-  }, [allArtworks]);
-
   // calculate total pages from server response
   const totalPages = Math.ceil(totalCount / pageSize);
 
@@ -234,7 +206,7 @@ export const ManageArtworks = () => {
       setSelectedForDelete(null);
       // Reload both paginated data and counts
       await loadArtworks();
-      await loadAllArtworksForCounts();
+      await loadStatusCounts();
     } catch (e) {
       console.error("Failed to delete artwork", e);
     } finally {
@@ -349,15 +349,30 @@ export interface PageResponse<T> {
   size: number; // page size
 }
 
+// One page (at most 500) of all artworks; X-Total-Count carries the total
 export const adminListAllArtworks = async (opts?: {
   signal?: AbortSignal;
+  page?: number;
+  size?: number;
 }): Promise<AdminArtworkDto[]> => {
   const res = await api.get<AdminArtworkDto[]>("/admin/artworks/all", {
+    params: { page: opts?.page ?? 0, size: opts?.size ?? 500 },
     signal: opts?.signal as any,
   });
   return res.data;
 };
 
+// Artworks per latest review status plus not_submitted and total
+export const adminArtworkStatusCounts = async (opts?: {
+  signal?: AbortSignal;
+}): Promise<Record<string, number>> => {
+  const res = await api.get<Record<string, number>>(
+    "/admin/artworks/status-counts",
+    { signal: opts?.signal as any }
+  );
+  return res.data;
+};
+
 // New paginated version with search and status filtering
 export const adminListArtworksPaginated = async (
   page: number = 0,
@@ -447,6 +462,46 @@ export const fetchPeriodSuggestions = async (): Promise<string[]> => {
   }
 };
 
+export interface ArtifactSuggestions {
+  categories: string[];
+  cultures: string[];
+  departments: string[];
+  periods: string[];
+}
+
+// All four dropdown lists in one (ETag-revalidated) request
+export const fetchAllSuggestions = async (): Promise<ArtifactSuggestions> => {
+  try {
+    const res = await api.get<ArtifactSuggestions>("/artifacts/suggestions");
+    return res.data;
+  } catch (err) {
+    console.error("Error fetching suggestions:", err);
+    throw err;
+  }
+};
+
+export interface AutocompleteSuggestion {
+  text: string;
+  weight: number;
+  kinds: ("title" | "artist" | "tag" | "place")[];
+}
+
+export const fetchAutocomplete = async (
+  prefix: string,
+  limit = 8
+): Promise<AutocompleteSuggestion[]> => {
+  if (!prefix.trim()) return [];
+  try {
+    const res = await api.get<AutocompleteSuggestion[]>("/artifacts/autocomplete", {
+      params: { prefix, limit },
+    });
+    return res.data;
+  } catch (err) {
+    console.error("Error fetching autocomplete:", err);
+    return [];
+  }
+};
+
 /* -------------------------------------------------------------------------- */
 /*                         ARTIFACT SEARCH & FILTERING                        */
 /* -------------------------------------------------------------------------- */
@@ -485,6 +540,9 @@ export interface SearchFilters {
   tags?: string;
   fromDate?: string;
   toDate?: string;
+  // Year range (negative = BC); matches artifacts whose period overlaps it
+  yearFrom?: number;
+  yearTo?: number;
   // Location filtering
   locationQuery?: string;
   latitude?: number;
@@ -492,6 +550,8 @@ export interface SearchFilters {
   radius?: number; // in kilometers
   city?: string;
   country?: string;
+  // Per-field match modes, e.g. "category:exact,title:prefix"; unlisted fields match as substrings
+  match?: string;
   page?: number;
   size?: number;
   sortBy?: string;
@@ -518,6 +578,8 @@ export const searchArts = async (
       tags: filters.tags || "",
       fromDate: filters.fromDate || undefined,
       toDate: filters.toDate || undefined,
+      yearFrom: filters.yearFrom ?? undefined,
+      yearTo: filters.yearTo ?? undefined,
       // Location parameters
       locationQuery: filters.locationQuery || undefined,
       latitude: filters.latitude || undefined,
@@ -525,6 +587,7 @@ export const searchArts = async (
       radius: filters.radius || undefined,
       city: filters.city || undefined,
       country: filters.country || undefined,
+      match: filters.match || undefined,
       // Sorting parameter
       sortBy: filters.sortBy || undefined,
     };
@@ -558,6 +621,8 @@ export const searchDetailedArts = async (
       tags: filters.tags || "",
       fromDate: filters.fromDate || undefined,
       toDate: filters.toDate || undefined,
+      yearFrom: filters.yearFrom ?? undefined,
+      yearTo: filters.yearTo ?? undefined,
       // Location parameters
       locationQuery: filters.locationQuery || undefined,
       latitude: filters.latitude || undefined,
@@ -565,6 +630,7 @@ export const searchDetailedArts = async (
       radius: filters.radius || undefined,
       city: filters.city || undefined,
       country: filters.country || undefined,
+      match: filters.match || undefined,
       // Sorting parameter
       sortBy: filters.sortBy || undefined,
       page: filters.page ?? 0,
@@ -582,6 +648,102 @@ export const searchDetailedArts = async (
   }
 };
 
+export interface FacetCount {
+  value: string;
+  count: number;
+}
+
+export interface FacetedSearchResponse {
+  page: ArtifactResponse;
+  facets: {
+    category: FacetCount[];
+    culture: FacetCount[];
+    period: FacetCount[];
+    department: FacetCount[];
+  };
+}
+
+/** Filtered search plus per-facet value counts for the same filters, in one request */
+export const facetedSearchArts = async (
+  filters: SearchFilters & { facetSize?: number }
+): Promise<FacetedSearchResponse> => {
+  try {
+    const params = {
+      anyField: filters.anyField || undefined,
+      title: filters.title || undefined,
+      category: filters.category || undefined,
+      culture: filters.culture || undefined,
+      department: filters.department || undefined,
+      period: filters.period || undefined,
+      medium: filters.medium || undefined,
+      artistName: filters.artistName || undefined,
+      tags: filters.tags || undefined,
+      fromDate: filters.fromDate || undefined,
+      toDate: filters.toDate || undefined,
+      yearFrom: filters.yearFrom ?? undefined,
+      yearTo: filters.yearTo ?? undefined,
+      locationQuery: filters.locationQuery || undefined,
+      latitude: filters.latitude || undefined,
+      longitude: filters.longitude || undefined,
+      radius: filters.radius || undefined,
+      city: filters.city || undefined,
+      country: filters.country || undefined,
+      match: filters.match || undefined,
+      sortBy: filters.sortBy || undefined,
+      page: filters.page ?? 0,
+      size: filters.size ?? 6,
+      facetSize: filters.facetSize || undefined,
+    };
+
+    const res = await api.get<FacetedSearchResponse>("/artifacts/search/faceted", {
+      params,
+    });
+    return res.data;
+  } catch (err) {
+    console.error("Error during faceted artifact search:", err);
+    throw err;
+  }
+};
+
+/**
+ * Download URL exporting every match of the filters (not just a page), streamed by
+ * the backend as NDJSON or CSV. Use it as a link href so the browser saves the file
+ * as it arrives instead of buffering it in memory.
+ */
+export const artifactExportUrl = (
+  filters: SearchFilters,
+  format: "ndjson" | "csv" = "csv"
+): string => {
+  const params = new URLSearchParams({ format });
+  const values: Record<string, string | number | undefined> = {
+    anyField: filters.anyField,
+    title: filters.title,
+    category: filters.category,
+    culture: filters.culture,
+    department: filters.department,
+    period: filters.period,
+    medium: filters.medium,
+    artistName: filters.artistName,
+    tags: filters.tags,
+    fromDate: filters.fromDate,
+    toDate: filters.toDate,
+    yearFrom: filters.yearFrom,
+    yearTo: filters.yearTo,
+    locationQuery: filters.locationQuery,
+    latitude: filters.latitude,
+    longitude: filters.longitude,
+    radius: filters.radius,
+    city: filters.city,
+    country: filters.country,
+    match: filters.match,
+    sortBy: filters.sortBy,
+  };
+  Object.entries(values).forEach(([key, value]) => {
+    if (value !== undefined && value !== "") params.append(key, String(value));
+  });
+  return `${API_BASE_URL}/artifacts/export?${params.toString()}`;
+};
+
 /* -------------------------------------------------------------------------- */
 /*                              BOOKMARK MANAGEMENT                           */
 /* -------------------------------------------------------------------------- */
@@ -863,6 +1025,8 @@ export const removeRating = async (
 
 export interface BookmarkDTO {
   artifactId: string;
+  averageRating?: number;
+  totalRatings?: number;
 }
 
 /** List all bookmarks for current user */
@@ -920,6 +1084,46 @@ export const getCommentsByArtifact = async (
   return res.data;
 };
 
+/** One page of a keyset-paginated listing; nextCursor is null on the last page */
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  total: number | null;
+  totalEstimated: boolean;
+}
+
+/** A comment of a thread page; replies holds only the replies loaded so far */
+export interface CommentThreadDTO extends CommentDTO {
+  replies: CommentThreadDTO[];
+  replyCount: number;
+  hasMoreReplies: boolean;
+  /** Where getCommentReplies continues; null means from the first reply */
+  repliesCursor: string | null;
+}
+
+/** A page of top-level comments, newest first, each with its first `replies` replies */
+export const getCommentThreads = async (
+  artifactId: string,
+  opts: { cursor?: string | null; size?: number; replies?: number } = {}
+): Promise<CursorPage<CommentThreadDTO>> => {
+  const res = await api.get<CursorPage<CommentThreadDTO>>(
+    `/comments/artifact/${encodeURIComponent(artifactId)}/threads`,
+    { params: { cursor: opts.cursor ?? undefined, size: opts.size, replies: opts.replies } }
+  );
+  return res.data;
+};
+
+/** "Load more replies" of a comment, oldest first */
+export const getCommentReplies = async (
+  commentId: number,
+  opts: { cursor?: string | null; size?: number } = {}
+): Promise<CursorPage<CommentThreadDTO>> => {
+  const res = await api.get<CursorPage<CommentThreadDTO>>(`/comments/${commentId}/replies`, {
+    params: { cursor: opts.cursor ?? undefined, size: opts.size },
+  });
+  return res.data;
+};
+
 export const postComment = async (payload: {
   artifactId: string;
   content: string;
@@ -941,6 +1145,13 @@ export const reactToComment = async (payload: {
   return res.data;
 };
 
+/** Sets the reaction state; unlike reactToComment, repeating it changes nothing */
+export const setCommentReaction = async (commentId: number, reacted: boolean) => {
+  const url = `/comments/${commentId}/reaction`;
+  const res = reacted ? await api.put(url) : await api.delete(url);
+  return res.data as { success: boolean; reactionCount: number; isReacted: boolean };
+};
+
 export const deleteComment = async (commentId: number): Promise<{ success: boolean; message?: string }> => {
   const res = await api.delete(`/comments/${commentId}`);
   return res.data;
@@ -1557,17 +1768,20 @@ export const getMyPublicProfile = async (opts?: {
 
 /* ----------------------------- Notifications ------------------------------ */
 
-export interface NotificationDto {
+/** A notification as the inbox and the stream return it (flat: the source is only a username) */
+export interface NotificationItem {
   notiId: number;
   notificationType: string;
-  relatedType?: string | null;
-  relatedId?: string | null;
   message: string;
-  isRead: boolean;
+  relatedId?: string | null;
+  relatedType?: string | null;
   createdAt: string; // ISO
-  source?: { username?: string | null } | null;
+  isRead: boolean;
+  sourceUsername?: string | null;
 }
 
+export type NotificationDto = NotificationItem;
+
 /** List current user's notifications */
 export const listNotifications = async (opts?: {
   signal?: AbortSignal;
@@ -1581,11 +1795,54 @@ export const listNotifications = async (opts?: {
   return res.data;
 };
 
-/** Mark all notifications as read */
-export const markAllNotificationsRead = async (): Promise<void> => {
-  await api.put("/notifications/mark-all-read", undefined, {
+/** A page of the current user's inbox, newest first */
+export const getNotificationInbox = async (opts: {
+  cursor?: string | null;
+  size?: number;
+  unreadOnly?: boolean;
+  signal?: AbortSignal;
+} = {}): Promise<CursorPage<NotificationItem>> => {
+  const res = await api.get<CursorPage<NotificationItem>>("/notifications/inbox", {
+    params: { cursor: opts.cursor ?? undefined, size: opts.size, unreadOnly: opts.unreadOnly ?? false },
+    signal: opts.signal as any,
+    withCredentials: true,
+  });
+  return res.data;
+};
+
+/** Number of unread notifications, for the bell badge */
+export const getUnreadNotificationCount = async (opts?: { signal?: AbortSignal }): Promise<number> => {
+  const res = await api.get<{ unreadCount: number }>("/notifications/unread-count", {
+    signal: opts?.signal as any,
     withCredentials: true,
   });
+  return res.data.unreadCount;
+};
+
+/** Mark all notifications as read; resolves to how many were unread */
+export const markAllNotificationsRead = async (): Promise<number> => {
+  const res = await api.put<{ updated: number }>("/notifications/mark-all-read", undefined, {
+    withCredentials: true,
+  });
+  return res.data?.updated ?? 0;
+};
+
+/** Mark read everything created at or before `before`, a createdAt as the API returns it */
+export const markNotificationsReadBefore = async (before: string): Promise<number> => {
+  const res = await api.put<{ updated: number }>("/notifications/mark-read-before", undefined, {
+    params: { before },
+    withCredentials: true,
+  });
+  return res.data.updated;
+};
+
+/** Delete read notifications created before `before`, a createdAt as the API returns it */
+export const deleteReadNotificationsBefore = async (before: string): Promise<number> => {
+  const res = await api.delete<{ deleted: number }>("/notifications/read", {
+    params: { before },
+    withCredentials: true,
+  });
+  return res.data.deleted;
 };
 
 // (Optional) mark a single notification as read if you add UI later
@@ -1595,6 +1852,27 @@ export const markNotificationRead = async (id: number): Promise<void> => {
   });
 };
 
+/**
+ * Subscribe to the current user's notification stream (Server-Sent Events).
+ * EventSource reconnects by itself, except when the server refuses the stream
+ * (204, too many open tabs); returns a function that closes the stream.
+ */
+export const subscribeNotifications = (handlers: {
+  onNotification?: (notification: NotificationItem) => void;
+  /** The absolute unread count: sent when the stream (re)opens and after every change */
+  onUnreadCount?: (count: number) => void;
+}): (() => void) => {
+  const source = new EventSource(`${API_BASE_URL}/notifications/stream`, {
+    withCredentials: true,
+  });
+  source.addEventListener("notification", (e) =>
+    handlers.onNotification?.(JSON.parse((e as MessageEvent).data))
+  );
+  source.addEventListener("unread", (e) =>
+    handlers.onUnreadCount?.(JSON.parse((e as MessageEvent).data).count)
+  );
+  return () => source.close();
+};
 
 /* ------------------------------ Admin: Contact Inbox ------------------------------ */
 